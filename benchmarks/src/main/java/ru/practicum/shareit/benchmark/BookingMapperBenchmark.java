@@ -0,0 +1,34 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import ru.practicum.shareit.booking.BookingMapper;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.model.Booking;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BookingMapperBenchmark {
+
+    @Param({"100", "10000"})
+    private int bookingsCount;
+
+    private List<Booking> bookings;
+
+    @Setup
+    public void setUp() {
+        bookings = SyntheticData.bookings(1, SyntheticData.item(1, SyntheticData.user(1)), SyntheticData.user(2),
+                bookingsCount);
+    }
+
+    @Benchmark
+    public List<BookingDto> mapToBookingDto() {
+        return BookingMapper.INSTANCE.mapToBookingDto(bookings);
+    }
+}
@@ -0,0 +1,116 @@
+package ru.practicum.shareit.benchmark;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1, time = 10)
+@Measurement(iterations = 3, time = 10)
+@Threads(64)
+@Fork(1)
+public class GatewayLoadBenchmark {
+    private static final int UPSTREAM_CHUNKS = 10;
+
+    @Param({"http://localhost:8080/items/export"})
+    private String url;
+
+    @Param({"1"})
+    private long userId;
+
+    @Param({"0"})
+    private int upstreamPort;
+
+    @Param({"1000"})
+    private long upstreamDurationMs;
+
+    @Param({"256"})
+    private int upstreamChunkKb;
+
+    private HttpClient client;
+    private HttpRequest request;
+    private HttpServer upstream;
+    private byte[] upstreamChunk;
+    private ExecutorService upstreamExecutor;
+
+    @Setup
+    public void setUp() throws IOException {
+        if (upstreamPort > 0) {
+            upstreamChunk = ndjsonChunk(upstreamChunkKb * 1024);
+            upstreamExecutor = Executors.newCachedThreadPool();
+            upstream = HttpServer.create(new InetSocketAddress(upstreamPort), 1024);
+            upstream.createContext("/", this::streamSlowly);
+            upstream.setExecutor(upstreamExecutor);
+            upstream.start();
+        }
+
+        client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        request = HttpRequest.newBuilder(URI.create(url))
+                .header("X-Sharer-User-Id", String.valueOf(userId))
+                .GET()
+                .build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        if (upstream != null) {
+            upstream.stop(0);
+            upstreamExecutor.shutdownNow();
+        }
+    }
+
+    @Benchmark
+    public int request() throws IOException, InterruptedException {
+        HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Unexpected status " + response.statusCode() + " from " + url);
+        }
+
+        return response.statusCode();
+    }
+
+    private void streamSlowly(HttpExchange exchange) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", "application/x-ndjson");
+        exchange.sendResponseHeaders(200, 0);
+
+        try (OutputStream out = exchange.getResponseBody()) {
+            for (int i = 0; i < UPSTREAM_CHUNKS; i++) {
+                Thread.sleep(upstreamDurationMs / UPSTREAM_CHUNKS);
+                out.write(upstreamChunk);
+                out.flush();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static byte[] ndjsonChunk(int size) {
+        String line = "{\"id\":1,\"name\":\"Item\",\"available\":true}\n";
+        StringBuilder chunk = new StringBuilder(size + line.length());
+
+        while (chunk.length() < size) {
+            chunk.append(line);
+        }
+
+        return chunk.toString().getBytes(StandardCharsets.UTF_8);
+    }
+}
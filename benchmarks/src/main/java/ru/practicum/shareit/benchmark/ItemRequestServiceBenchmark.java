@@ -0,0 +1,62 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.request.ItemRequestService;
+import ru.practicum.shareit.request.dto.ItemRequestDto;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.user.model.User;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ItemRequestServiceBenchmark {
+
+    @Param({"10", "100", "1000"})
+    private int requestsCount;
+
+    @Param({"3"})
+    private int itemsPerRequest;
+
+    private ConfigurableApplicationContext context;
+    private ItemRequestService itemRequestService;
+    private TransactionTemplate sessionTemplate;
+    private long viewerId;
+
+    @Setup
+    public void setUp() {
+        context = ServerContext.start();
+        itemRequestService = context.getBean(ItemRequestService.class);
+        sessionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        sessionTemplate.setReadOnly(true);
+
+        SyntheticDataGenerator generator = new SyntheticDataGenerator(context);
+
+        User author = generator.createUser();
+        User owner = generator.createUser();
+
+        for (ItemRequest request : generator.createItemRequests(author, requestsCount)) {
+            generator.createItems(owner, itemsPerRequest, request);
+        }
+
+        viewerId = generator.createUser().getId();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<ItemRequestDto> findItemRequests() {
+        return sessionTemplate.execute(status -> itemRequestService.findItemRequests(viewerId, 0, requestsCount));
+    }
+}
@@ -0,0 +1,60 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import ru.practicum.shareit.item.ItemService;
+import ru.practicum.shareit.item.dto.ItemWithBookingsDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ItemServiceBenchmark {
+
+    @Param({"10", "100"})
+    private int itemsCount;
+
+    @Param({"10", "50"})
+    private int bookingsPerItem;
+
+    @Param({"2"})
+    private int commentsPerItem;
+
+    private ConfigurableApplicationContext context;
+    private ItemService itemService;
+    private long ownerId;
+
+    @Setup
+    public void setUp() {
+        context = ServerContext.start();
+        itemService = context.getBean(ItemService.class);
+
+        SyntheticDataGenerator generator = new SyntheticDataGenerator(context);
+
+        User owner = generator.createUser();
+        User booker = generator.createUser();
+
+        List<Item> items = generator.createItems(owner, itemsCount, null);
+        generator.createBookings(items, booker, bookingsPerItem);
+        generator.createComments(items, booker, commentsPerItem);
+
+        ownerId = owner.getId();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<ItemWithBookingsDto> findItems() {
+        return itemService.findItems(ownerId, 0, itemsCount);
+    }
+}
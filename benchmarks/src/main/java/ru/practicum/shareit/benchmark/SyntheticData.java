@@ -0,0 +1,45 @@
+package ru.practicum.shareit.benchmark;
+
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+public final class SyntheticData {
+
+    private SyntheticData() {
+    }
+
+    public static User user(long id) {
+        return new User(id, "user" + id + "@shareit.ru", "User " + id, Instant.now(), null);
+    }
+
+    public static Item item(long id, User owner) {
+        return new Item(id, owner, "Item " + id, "Description of item " + id, true, null, Instant.now(), null,
+                null, null, null);
+    }
+
+    public static List<Booking> bookings(long firstId, Item item, User booker, int count) {
+        List<Booking> bookings = new ArrayList<>(count);
+
+        LocalDateTime base = LocalDateTime.now().minusDays(count / 2);
+
+        for (int i = 0; i < count; i++) {
+            LocalDateTime start = base.plusDays(i);
+
+            bookings.add(new Booking(firstId + i, start, start.plusHours(12), booker, item, status(i), Instant.now(),
+                    null));
+        }
+
+        return bookings;
+    }
+
+    static BookingStatus status(int i) {
+        return (i % 3 == 0) ? BookingStatus.WAITING : BookingStatus.APPROVED;
+    }
+}
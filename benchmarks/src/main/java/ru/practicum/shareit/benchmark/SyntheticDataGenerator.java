@@ -0,0 +1,103 @@
+package ru.practicum.shareit.benchmark;
+
+import org.springframework.context.ApplicationContext;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.item.ItemBookingPointers;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.comment.CommentRepository;
+import ru.practicum.shareit.item.comment.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.ItemRequestRepository;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+public class SyntheticDataGenerator {
+    private final UserRepository userRepository;
+    private final ItemRepository itemRepository;
+    private final BookingRepository bookingRepository;
+    private final CommentRepository commentRepository;
+    private final ItemRequestRepository itemRequestRepository;
+    private final ItemBookingPointers itemBookingPointers;
+
+    private long userCounter;
+
+    public SyntheticDataGenerator(ApplicationContext context) {
+        this.userRepository = context.getBean(UserRepository.class);
+        this.itemRepository = context.getBean(ItemRepository.class);
+        this.bookingRepository = context.getBean(BookingRepository.class);
+        this.commentRepository = context.getBean(CommentRepository.class);
+        this.itemRequestRepository = context.getBean(ItemRequestRepository.class);
+        this.itemBookingPointers = context.getBean(ItemBookingPointers.class);
+    }
+
+    public User createUser() {
+        userCounter++;
+
+        User user = new User();
+        user.setName("User " + userCounter);
+        user.setEmail("user" + userCounter + "@shareit.ru");
+
+        return userRepository.save(user);
+    }
+
+    public List<Item> createItems(User owner, int count, ItemRequest request) {
+        List<Item> items = new ArrayList<>(count);
+
+        for (int i = 0; i < count; i++) {
+            items.add(new Item(null, owner, "Item " + i, "Description of item " + i, true, request, Instant.now(),
+                    null, null, null, null));
+        }
+
+        return itemRepository.saveAll(items);
+    }
+
+    public List<Booking> createBookings(List<Item> items, User booker, int bookingsPerItem) {
+        List<Booking> bookings = new ArrayList<>(items.size() * bookingsPerItem);
+
+        LocalDateTime base = LocalDateTime.now().minusDays(bookingsPerItem / 2);
+
+        for (Item item : items) {
+            for (int i = 0; i < bookingsPerItem; i++) {
+                LocalDateTime start = base.plusDays(i);
+
+                bookings.add(new Booking(null, start, start.plusHours(12), booker, item, SyntheticData.status(i),
+                        Instant.now(), null));
+            }
+        }
+
+        List<Booking> savedBookings = bookingRepository.saveAll(bookings);
+
+        itemBookingPointers.refreshAll();
+
+        return savedBookings;
+    }
+
+    public List<Comment> createComments(List<Item> items, User author, int commentsPerItem) {
+        List<Comment> comments = new ArrayList<>(items.size() * commentsPerItem);
+
+        for (Item item : items) {
+            for (int i = 0; i < commentsPerItem; i++) {
+                comments.add(new Comment(author, item, "Comment " + i + " for item " + item.getId()));
+            }
+        }
+
+        return commentRepository.saveAll(comments);
+    }
+
+    public List<ItemRequest> createItemRequests(User author, int count) {
+        List<ItemRequest> requests = new ArrayList<>(count);
+
+        for (int i = 0; i < count; i++) {
+            requests.add(new ItemRequest(null, author, "Request " + i, Instant.now(), null));
+        }
+
+        return itemRequestRepository.saveAll(requests);
+    }
+}
@@ -2,11 +2,13 @@ package ru.practicum.shareit.booking;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.booking.dto.BookingApprovalDto;
 import ru.practicum.shareit.booking.dto.BookingCreationDto;
 import ru.practicum.shareit.client.BaseClient;
 
@@ -17,16 +19,23 @@ public class BookingClient extends BaseClient {
     private static final String API_PREFIX = "/bookings";
 
     @Autowired
-    public BookingClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public BookingClient(@Value("${shareit-server.url}") String serverUrl, WebClient webClient) {
         super(
-                builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
+                webClient.mutate()
+                        .uriBuilderFactory(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
                         .build()
         );
     }
 
-    public ResponseEntity<Object> findBookingsForUser(long userId, QueryState state, int from, int size) {
+    public Mono<ResponseEntity<Object>> findBookingsForUser(long userId, QueryState state, int from, int size, String after) {
+        if (after != null) {
+            Map<String, Object> parameters = Map.of(
+                    "state", state.name(),
+                    "size", size,
+                    "after", after
+            );
+            return get("?state={state}&size={size}&after={after}", userId, parameters);
+        }
         Map<String, Object> parameters = Map.of(
                 "state", state.name(),
                 "from", from,
@@ -35,7 +44,15 @@ public class BookingClient extends BaseClient {
         return get("?state={state}&from={from}&size={size}", userId, parameters);
     }
 
-    public ResponseEntity<Object> findBookingsForOwner(long userId, QueryState state, int from, int size) {
+    public Mono<ResponseEntity<Object>> findBookingsForOwner(long userId, QueryState state, int from, int size, String after) {
+        if (after != null) {
+            Map<String, Object> parameters = Map.of(
+                    "state", state.name(),
+                    "size", size,
+                    "after", after
+            );
+            return get("/owner?state={state}&size={size}&after={after}", userId, parameters);
+        }
         Map<String, Object> parameters = Map.of(
                 "state", state.name(),
                 "from", from,
@@ -44,18 +61,22 @@ public class BookingClient extends BaseClient {
         return get("/owner?state={state}&from={from}&size={size}", userId, parameters);
     }
 
-    public ResponseEntity<Object> findBooking(long userId, long bookingId) {
+    public Mono<ResponseEntity<StreamingResponseBody>> exportBookings(long userId) {
+        return stream("/export", userId);
+    }
+
+    public Mono<ResponseEntity<Object>> findBooking(long userId, long bookingId) {
         Map<String, Object> parameters = Map.of(
                 "bookingId", bookingId
         );
         return get("/{bookingId}", userId, parameters);
     }
 
-    public ResponseEntity<Object> createBooking(long userId, BookingCreationDto bookingCreationDto) {
+    public Mono<ResponseEntity<Object>> createBooking(long userId, BookingCreationDto bookingCreationDto) {
         return post("", userId, bookingCreationDto);
     }
 
-    public ResponseEntity<Object> updateBooking(long ownerId, long bookingId, boolean approved) {
+    public Mono<ResponseEntity<Object>> updateBooking(long ownerId, long bookingId, boolean approved) {
         Map<String, Object> parameters = Map.of(
                 "bookingId", bookingId,
                 "approved", approved
@@ -63,7 +84,11 @@ public class BookingClient extends BaseClient {
         return patch("/{bookingId}?approved={approved}", ownerId, parameters, null);
     }
 
-    public ResponseEntity<Object> deleteBooking(long ownerId, long bookingId) {
+    public Mono<ResponseEntity<Object>> updateBookings(long ownerId, BookingApprovalDto approval) {
+        return patch("/approve", ownerId, approval);
+    }
+
+    public Mono<ResponseEntity<Object>> deleteBooking(long ownerId, long bookingId) {
         Map<String, Object> parameters = Map.of(
                 "bookingId", bookingId
         );
@@ -5,6 +5,9 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.booking.dto.BookingApprovalDto;
 import ru.practicum.shareit.booking.dto.BookingCreationDto;
 
 import javax.validation.Valid;
@@ -20,57 +23,76 @@ public class BookingController {
     private final BookingClient bookingClient;
 
     @GetMapping
-    public ResponseEntity<Object> findBookingsForUser(
+    public Mono<ResponseEntity<Object>> findBookingsForUser(
             @RequestHeader(name = "X-Sharer-User-Id") long userId,
             @RequestParam(name = "state", defaultValue = "ALL", required = false) String stateParam,
             @PositiveOrZero(message = "'from' must be greater than or equal to zero")
             @RequestParam(defaultValue = "0") int from,
-            @Positive(message = "'size' must be greater than zero") @RequestParam(defaultValue = "10") int size) {
+            @Positive(message = "'size' must be greater than zero") @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) String after) {
         QueryState state = QueryState.from(stateParam)
                 .orElseThrow(() -> new IllegalArgumentException("Unknown state: " + stateParam));
-        log.info("Get bookings with state {}, userId={}, from={}, size={}", stateParam, userId, from, size);
-        return bookingClient.findBookingsForUser(userId, state, from, size);
+        log.info("Get bookings with state {}, userId={}, from={}, size={}, after={}", stateParam, userId, from, size,
+                after);
+        return bookingClient.findBookingsForUser(userId, state, from, size, after);
     }
 
     @GetMapping("/owner")
-    public ResponseEntity<Object> findBookingsForOwner(
+    public Mono<ResponseEntity<Object>> findBookingsForOwner(
             @RequestHeader(name = "X-Sharer-User-Id") long ownerId,
             @RequestParam(name = "state", defaultValue = "ALL", required = false) String stateParam,
             @PositiveOrZero(message = "'from' must be greater than or equal to zero")
             @RequestParam(defaultValue = "0") int from,
-            @Positive(message = "'size' must be greater than zero") @RequestParam(defaultValue = "10") int size) {
+            @Positive(message = "'size' must be greater than zero") @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) String after) {
         QueryState state = QueryState.from(stateParam)
                 .orElseThrow(() -> new IllegalArgumentException("Unknown state: " + stateParam));
-        log.info("Get bookings with state {}, ownerId={}, from={}, size={}", stateParam, ownerId, from, size);
-        return bookingClient.findBookingsForOwner(ownerId, state, from, size);
+        log.info("Get bookings with state {}, ownerId={}, from={}, size={}, after={}", stateParam, ownerId, from, size,
+                after);
+        return bookingClient.findBookingsForOwner(ownerId, state, from, size, after);
+    }
+
+    @GetMapping("/export")
+    public Mono<ResponseEntity<StreamingResponseBody>> exportBookings(
+            @RequestHeader(name = "X-Sharer-User-Id") long userId) {
+        log.info("Export bookings, userId={}", userId);
+        return bookingClient.exportBookings(userId);
     }
 
     @GetMapping("/{bookingId}")
-    public ResponseEntity<Object> findBooking(@RequestHeader(name = "X-Sharer-User-Id") long userId,
-                                              @PathVariable long bookingId) {
+    public Mono<ResponseEntity<Object>> findBooking(@RequestHeader(name = "X-Sharer-User-Id") long userId,
+                                                    @PathVariable long bookingId) {
         log.info("Get booking {}, userId={}", bookingId, userId);
         return bookingClient.findBooking(userId, bookingId);
     }
 
     @PostMapping
-    public ResponseEntity<Object> createBooking(@RequestHeader("X-Sharer-User-Id") long userId,
-                                                @Valid @RequestBody BookingCreationDto bookingCreationDto) {
+    public Mono<ResponseEntity<Object>> createBooking(@RequestHeader("X-Sharer-User-Id") long userId,
+                                                      @Valid @RequestBody BookingCreationDto bookingCreationDto) {
         log.info("Create booking userId={}, ownerId={}, itemId={}, status={}", userId,
                 bookingCreationDto.getBookerId(), bookingCreationDto.getItemId(), bookingCreationDto.getStatus());
         return bookingClient.createBooking(userId, bookingCreationDto);
     }
 
     @PatchMapping("/{bookingId}")
-    public ResponseEntity<Object> updateBooking(@RequestHeader("X-Sharer-User-Id") long ownerId,
-                                                @PathVariable long bookingId,
-                                                @RequestParam boolean approved) {
+    public Mono<ResponseEntity<Object>> updateBooking(@RequestHeader("X-Sharer-User-Id") long ownerId,
+                                                      @PathVariable long bookingId,
+                                                      @RequestParam boolean approved) {
         log.info("Update booking ownerId={}, bookingId={}, approved={}", ownerId, bookingId, approved);
         return bookingClient.updateBooking(ownerId, bookingId, approved);
     }
 
+    @PatchMapping("/approve")
+    public Mono<ResponseEntity<Object>> updateBookings(@RequestHeader("X-Sharer-User-Id") long ownerId,
+                                                       @Valid @RequestBody BookingApprovalDto approval) {
+        log.info("Update bookings ownerId={}, count={}, approved={}", ownerId, approval.getBookingIds().size(),
+                approval.getApproved());
+        return bookingClient.updateBookings(ownerId, approval);
+    }
+
     @DeleteMapping("/{bookingId}")
-    public ResponseEntity<Object> deleteBooking(@RequestHeader("X-Sharer-User-Id") long userId,
-                                                @PathVariable long bookingId) {
+    public Mono<ResponseEntity<Object>> deleteBooking(@RequestHeader("X-Sharer-User-Id") long userId,
+                                                      @PathVariable long bookingId) {
         return bookingClient.deleteBooking(userId, bookingId);
     }
 }
\ No newline at end of file
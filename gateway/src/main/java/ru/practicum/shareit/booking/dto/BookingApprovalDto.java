@@ -0,0 +1,25 @@
+package ru.practicum.shareit.booking.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Size;
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookingApprovalDto {
+
+    @NotEmpty(message = "Список бронирований не должен быть пустым")
+    @Size(max = 1000, message = "Список бронирований не должен превышать 1000 элементов")
+    private List<@NotNull Long> bookingIds;
+
+    @NotNull(message = "Не указано решение по бронированиям")
+    private Boolean approved;
+}
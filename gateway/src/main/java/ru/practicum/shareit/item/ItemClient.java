@@ -2,13 +2,19 @@ package ru.practicum.shareit.item;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.client.BaseClient;
 import ru.practicum.shareit.item.comment.dto.CommentCreationDto;
+import ru.practicum.shareit.item.dto.ItemBatchCreationDto;
 import ru.practicum.shareit.item.dto.ItemCreationDto;
 
 import java.util.Map;
@@ -16,18 +22,27 @@ import java.util.Map;
 @Service
 public class ItemClient extends BaseClient {
     private static final String API_PREFIX = "/items";
+    private static final ParameterizedTypeReference<ServerSentEvent<String>> ITEM_EVENT_TYPE =
+            new ParameterizedTypeReference<>() {
+            };
 
     @Autowired
-    public ItemClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public ItemClient(@Value("${shareit-server.url}") String serverUrl, WebClient webClient) {
         super(
-                builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
+                webClient.mutate()
+                        .uriBuilderFactory(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
                         .build()
         );
     }
 
-    public ResponseEntity<Object> findItems(Long userId, int from, int size) {
+    public Mono<ResponseEntity<Object>> findItems(Long userId, int from, int size, String after) {
+        if (after != null) {
+            Map<String, Object> parameters = Map.of(
+                    "size", size,
+                    "after", after
+            );
+            return get("?size={size}&after={after}", userId, parameters);
+        }
         Map<String, Object> parameters = Map.of(
                 "from", from,
                 "size", size
@@ -35,14 +50,26 @@ public class ItemClient extends BaseClient {
         return get("?from={from}&size={size}", userId, parameters);
     }
 
-    public ResponseEntity<Object> findItem(long userId, long itemId) {
+    public Mono<ResponseEntity<StreamingResponseBody>> exportItems(long userId) {
+        return stream("/export", userId);
+    }
+
+    public Mono<ResponseEntity<Object>> findItem(long userId, long itemId) {
         Map<String, Object> parameters = Map.of(
                 "itemId", itemId
         );
         return get("/{itemId}", userId, parameters);
     }
 
-    public ResponseEntity<Object> searchItems(String text, long from, long size) {
+    public Mono<ResponseEntity<Object>> searchItems(String text, long from, long size, String after) {
+        if (after != null) {
+            Map<String, Object> parameters = Map.of(
+                    "text", text,
+                    "size", size,
+                    "after", after
+            );
+            return get("/search?text={text}&size={size}&after={after}", null, parameters);
+        }
         Map<String, Object> parameters = Map.of(
                 "text", text,
                 "from", from,
@@ -51,25 +78,37 @@ public class ItemClient extends BaseClient {
         return get("/search?text={text}&from={from}&size={size}", null, parameters);
     }
 
-    public ResponseEntity<Object> saveItem(long userId, ItemCreationDto itemCreationDto) {
+    public Flux<ServerSentEvent<String>> subscribeToItemEvents() {
+        return web.get()
+                .uri("/events")
+                .accept(MediaType.TEXT_EVENT_STREAM)
+                .retrieve()
+                .bodyToFlux(ITEM_EVENT_TYPE);
+    }
+
+    public Mono<ResponseEntity<Object>> saveItem(long userId, ItemCreationDto itemCreationDto) {
         return post("", userId, itemCreationDto);
     }
 
-    public ResponseEntity<Object> postComment(long userId, long itemId, CommentCreationDto comment) {
+    public Mono<ResponseEntity<Object>> saveItems(long userId, ItemBatchCreationDto itemBatchCreationDto) {
+        return post("/batch", userId, itemBatchCreationDto);
+    }
+
+    public Mono<ResponseEntity<Object>> postComment(long userId, long itemId, CommentCreationDto comment) {
         Map<String, Object> parameters = Map.of(
                 "itemId", itemId
         );
         return post("/{itemId}/comment", userId, parameters, comment);
     }
 
-    public ResponseEntity<Object> updateItem(long userId, long itemId, ItemCreationDto itemCreationDto) {
+    public Mono<ResponseEntity<Object>> updateItem(long userId, long itemId, ItemCreationDto itemCreationDto) {
         Map<String, Object> parameters = Map.of(
                 "itemId", itemId
         );
         return patch("/{itemId}", userId, parameters, itemCreationDto);
     }
 
-    public ResponseEntity<Object> deleteItem(long userId, long itemId) {
+    public Mono<ResponseEntity<Object>> deleteItem(long userId, long itemId) {
         Map<String, Object> parameters = Map.of(
                 "itemId", itemId
         );
@@ -5,7 +5,10 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.item.comment.dto.CommentCreationDto;
+import ru.practicum.shareit.item.dto.ItemBatchCreationDto;
 import ru.practicum.shareit.item.dto.ItemCreationDto;
 
 import javax.validation.Valid;
@@ -19,60 +22,76 @@ import javax.validation.constraints.PositiveOrZero;
 @RequiredArgsConstructor
 public class ItemController {
     private final ItemClient itemClient;
+    private final ItemSearchCache itemSearchCache;
 
     @GetMapping
-    public ResponseEntity<Object> findItems(
+    public Mono<ResponseEntity<Object>> findItems(
             @RequestHeader(name = "X-Sharer-User-Id", required = false) Long userId,
             @PositiveOrZero(message = "\"from\" must be greater than or equal to zero")
             @RequestParam(defaultValue = "0") int from,
-            @Positive(message = "\"size\" must be greater than zero") @RequestParam(defaultValue = "10") int size) {
-        log.info("Get items with userId={}, from={}, size={}", userId, from, size);
-        return itemClient.findItems(userId, from, size);
+            @Positive(message = "\"size\" must be greater than zero") @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) String after) {
+        log.info("Get items with userId={}, from={}, size={}, after={}", userId, from, size, after);
+        return itemClient.findItems(userId, from, size, after);
+    }
+
+    @GetMapping("/export")
+    public Mono<ResponseEntity<StreamingResponseBody>> exportItems(@RequestHeader("X-Sharer-User-Id") long userId) {
+        log.info("Export items, userId={}", userId);
+        return itemClient.exportItems(userId);
     }
 
     @GetMapping("/{itemId}")
-    public ResponseEntity<Object> findItem(@RequestHeader("X-Sharer-User-Id") long userId,
-                                           @PathVariable long itemId) {
+    public Mono<ResponseEntity<Object>> findItem(@RequestHeader("X-Sharer-User-Id") long userId,
+                                                 @PathVariable long itemId) {
         log.info("Get item with userId={}, itemId={}", userId, itemId);
         return itemClient.findItem(userId, itemId);
     }
 
     @GetMapping("/search")
-    public ResponseEntity<Object> searchItems(
+    public Mono<ResponseEntity<Object>> searchItems(
             @RequestParam(required = false) String text,
             @PositiveOrZero(message = "\"from\" must be greater than or equal to zero")
             @RequestParam(defaultValue = "0") int from,
-            @Positive(message = "\"size\" must be greater than zero") @RequestParam(defaultValue = "10") int size) {
-        log.info("Search items with text={}, from={}, size={}", text, from, size);
-        return itemClient.searchItems(text, from, size);
+            @Positive(message = "\"size\" must be greater than zero") @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) String after) {
+        log.info("Search items with text={}, from={}, size={}, after={}", text, from, size, after);
+        return itemSearchCache.searchItems(text, from, size, after);
     }
 
     @PostMapping
-    public ResponseEntity<Object> saveItem(@RequestHeader("X-Sharer-User-Id") long userId,
-                                           @Valid @RequestBody ItemCreationDto itemCreationDto) {
+    public Mono<ResponseEntity<Object>> saveItem(@RequestHeader("X-Sharer-User-Id") long userId,
+                                                 @Valid @RequestBody ItemCreationDto itemCreationDto) {
         log.info("Save item with userId={}, itemName={}", userId, itemCreationDto.getName());
         return itemClient.saveItem(userId, itemCreationDto);
     }
 
+    @PostMapping("/batch")
+    public Mono<ResponseEntity<Object>> saveItems(@RequestHeader("X-Sharer-User-Id") long userId,
+                                                  @Valid @RequestBody ItemBatchCreationDto itemBatchCreationDto) {
+        log.info("Save item batch with userId={}, size={}", userId, itemBatchCreationDto.getItems().size());
+        return itemClient.saveItems(userId, itemBatchCreationDto);
+    }
+
     @PostMapping("/{itemId}/comment")
-    public ResponseEntity<Object> postComment(@RequestHeader("X-Sharer-User-Id") long userId,
-                                              @PathVariable long itemId,
-                                              @Valid @RequestBody CommentCreationDto comment) {
+    public Mono<ResponseEntity<Object>> postComment(@RequestHeader("X-Sharer-User-Id") long userId,
+                                                    @PathVariable long itemId,
+                                                    @Valid @RequestBody CommentCreationDto comment) {
         log.info("Post comment with userId={}, itemId={}, comment={}", userId, itemId, comment.getText());
         return itemClient.postComment(userId, itemId, comment);
     }
 
     @PatchMapping("/{itemId}")
-    public ResponseEntity<Object> updateItem(@RequestHeader("X-Sharer-User-Id") long userId,
-                                             @PathVariable long itemId,
-                                             @RequestBody ItemCreationDto itemCreationDto) {
+    public Mono<ResponseEntity<Object>> updateItem(@RequestHeader("X-Sharer-User-Id") long userId,
+                                                   @PathVariable long itemId,
+                                                   @RequestBody ItemCreationDto itemCreationDto) {
         log.info("Update item with userId={}, itemId={}, itemName={}", userId, itemId, itemCreationDto.getName());
         return itemClient.updateItem(userId, itemId, itemCreationDto);
     }
 
     @DeleteMapping("/{itemId}")
-    public ResponseEntity<Object> deleteItem(@RequestHeader("X-Sharer-User-Id") long userId,
-                                             @PathVariable long itemId) {
+    public Mono<ResponseEntity<Object>> deleteItem(@RequestHeader("X-Sharer-User-Id") long userId,
+                                                   @PathVariable long itemId) {
         log.info("Delete item with userId={}, itemId={}", userId, itemId);
         return itemClient.deleteItem(userId, itemId);
     }
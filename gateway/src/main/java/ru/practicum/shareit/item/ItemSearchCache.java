@@ -0,0 +1,109 @@
+package ru.practicum.shareit.item;
+
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.Getter;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import javax.annotation.PreDestroy;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+@Slf4j
+@Component
+@EnableConfigurationProperties(ItemSearchCacheProperties.class)
+public class ItemSearchCache {
+    private static final String ITEM_CHANGED = "item-changed";
+
+    private final ItemClient itemClient;
+    private final ItemSearchCacheProperties properties;
+    private final AsyncLoadingCache<SearchKey, ResponseEntity<Object>> cache;
+
+    private Disposable itemEvents;
+
+    public ItemSearchCache(ItemClient itemClient, ItemSearchCacheProperties properties, MeterRegistry registry) {
+        this.itemClient = itemClient;
+        this.properties = properties;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .refreshAfterWrite(properties.getRefreshAfter())
+                .expireAfterWrite(properties.getExpireAfter())
+                .recordStats()
+                .buildAsync((key, executor) -> load(key));
+
+        CaffeineCacheMetrics.monitor(registry, cache, "itemSearch");
+    }
+
+    public Mono<ResponseEntity<Object>> searchItems(String text, int from, int size, String after) {
+        if (text == null) {
+            return itemClient.searchItems(null, from, size, after);
+        }
+
+        SearchKey key = new SearchKey(text.toLowerCase(Locale.ROOT), (after == null) ? from / size * size : 0,
+                size, after);
+
+        return Mono.fromFuture(cache.get(key).thenApply(Function.identity()))
+                .onErrorResume(UncachedResponseException.class, e -> Mono.just(e.getResponse()));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void subscribeToItemEvents() {
+        itemEvents = itemClient.subscribeToItemEvents()
+                .doOnSubscribe(subscription -> cache.synchronous().invalidateAll())
+                .filter(event -> ITEM_CHANGED.equals(event.event()))
+                .doOnNext(event -> {
+                    log.debug("Items {} changed, invalidating search cache", event.data());
+                    cache.synchronous().invalidateAll();
+                })
+                .repeatWhen(completed -> completed.delayElements(properties.getResubscribeDelay()))
+                .retryWhen(Retry.fixedDelay(Long.MAX_VALUE, properties.getResubscribeDelay())
+                        .doBeforeRetry(signal -> log.warn("Item events stream failed, resubscribing: {}",
+                                signal.failure().getMessage())))
+                .subscribe();
+    }
+
+    @PreDestroy
+    public void unsubscribeFromItemEvents() {
+        if (itemEvents != null) {
+            itemEvents.dispose();
+        }
+    }
+
+    private CompletableFuture<ResponseEntity<Object>> load(SearchKey key) {
+        return itemClient.searchItems(key.getText(), key.getFrom(), key.getSize(), key.getAfter())
+                .flatMap(response -> response.getStatusCode().is2xxSuccessful()
+                        ? Mono.just(response)
+                        : Mono.error(new UncachedResponseException(response)))
+                .toFuture();
+    }
+
+    @Value
+    private static class SearchKey {
+        String text;
+        long from;
+        long size;
+        String after;
+    }
+
+    @Getter
+    private static class UncachedResponseException extends RuntimeException {
+        private final transient ResponseEntity<Object> response;
+
+        UncachedResponseException(ResponseEntity<Object> response) {
+            super(null, null, false, false);
+            this.response = response;
+        }
+    }
+}
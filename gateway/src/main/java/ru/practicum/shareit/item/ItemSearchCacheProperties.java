@@ -0,0 +1,17 @@
+package ru.practicum.shareit.item;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shareit-server.search-cache")
+public class ItemSearchCacheProperties {
+    private long maximumSize = 10_000;
+    private Duration refreshAfter = Duration.ofSeconds(5);
+    private Duration expireAfter = Duration.ofSeconds(60);
+    private Duration resubscribeDelay = Duration.ofSeconds(5);
+}
@@ -0,0 +1,22 @@
+package ru.practicum.shareit.item.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import javax.validation.Valid;
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.Size;
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ItemBatchCreationDto {
+
+    @NotEmpty(message = "Список вещей не должен быть пустым")
+    @Size(max = 1000, message = "Список вещей не должен превышать 1000 элементов")
+    private List<@Valid ItemCreationDto> items;
+}
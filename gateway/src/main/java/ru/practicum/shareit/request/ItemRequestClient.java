@@ -2,11 +2,11 @@ package ru.practicum.shareit.request;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.client.BaseClient;
 import ru.practicum.shareit.request.dto.ItemRequestCreationDto;
 
@@ -17,20 +17,26 @@ public class ItemRequestClient extends BaseClient {
     private static final String API_PREFIX = "/requests";
 
     @Autowired
-    public ItemRequestClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public ItemRequestClient(@Value("${shareit-server.url}") String serverUrl, WebClient webClient) {
         super(
-                builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
+                webClient.mutate()
+                        .uriBuilderFactory(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
                         .build()
         );
     }
 
-    public ResponseEntity<Object> findUsersItemRequests(Long userId) {
+    public Mono<ResponseEntity<Object>> findUsersItemRequests(Long userId) {
         return get("", userId);
     }
 
-    public ResponseEntity<Object> findItemRequests(Long userId, int from, int size) {
+    public Mono<ResponseEntity<Object>> findItemRequests(Long userId, int from, int size, String after) {
+        if (after != null) {
+            Map<String, Object> parameters = Map.of(
+                    "size", size,
+                    "after", after
+            );
+            return get("/all?size={size}&after={after}", userId, parameters);
+        }
         Map<String, Object> parameters = Map.of(
                 "from", from,
                 "size", size
@@ -38,18 +44,18 @@ public class ItemRequestClient extends BaseClient {
         return get("/all?from={from}&size={size}", userId, parameters);
     }
 
-    public ResponseEntity<Object> findItemRequest(Long userId, long requestId) {
+    public Mono<ResponseEntity<Object>> findItemRequest(Long userId, long requestId) {
         Map<String, Object> parameters = Map.of(
                 "requestId", requestId
         );
         return get("/{requestId}", userId, parameters);
     }
 
-    public ResponseEntity<Object> createItemRequest(Long userId, ItemRequestCreationDto itemRequest) {
+    public Mono<ResponseEntity<Object>> createItemRequest(Long userId, ItemRequestCreationDto itemRequest) {
         return post("", userId, itemRequest);
     }
 
-    public ResponseEntity<Object> deleteItemRequest(long userId, long requestId) {
+    public Mono<ResponseEntity<Object>> deleteItemRequest(long userId, long requestId) {
         Map<String, Object> parameters = Map.of(
                 "requestId", requestId
         );
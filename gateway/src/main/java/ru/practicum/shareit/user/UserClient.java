@@ -2,11 +2,11 @@ package ru.practicum.shareit.user;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.client.BaseClient;
 import ru.practicum.shareit.user.dto.UserCreationDto;
 
@@ -17,38 +17,37 @@ public class UserClient extends BaseClient {
     private static final String API_PREFIX = "/users";
 
     @Autowired
-    public UserClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public UserClient(@Value("${shareit-server.url}") String serverUrl, WebClient webClient) {
         super(
-                builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
+                webClient.mutate()
+                        .uriBuilderFactory(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
                         .build()
         );
     }
 
-    public ResponseEntity<Object> getAllUsers() {
+    public Mono<ResponseEntity<Object>> getAllUsers() {
         return get("");
     }
 
-    public ResponseEntity<Object> getUserById(Long userId) {
+    public Mono<ResponseEntity<Object>> getUserById(Long userId) {
         Map<String, Object> parameters = Map.of(
                 "userId", userId
         );
         return get("/{userId}", null, parameters);
     }
 
-    public ResponseEntity<Object> createUser(UserCreationDto userCreationDto) {
+    public Mono<ResponseEntity<Object>> createUser(UserCreationDto userCreationDto) {
         return post("", userCreationDto);
     }
 
-    public ResponseEntity<Object> updateUser(Long userId, UserCreationDto userCreationDto) {
+    public Mono<ResponseEntity<Object>> updateUser(Long userId, UserCreationDto userCreationDto) {
         Map<String, Object> parameters = Map.of(
                 "userId", userId
         );
         return patch("/{userId}", null, parameters, userCreationDto);
     }
 
-    public ResponseEntity<Object> deleteUser(Long userId) {
+    public Mono<ResponseEntity<Object>> deleteUser(Long userId) {
         Map<String, Object> parameters = Map.of(
                 "userId", userId
         );
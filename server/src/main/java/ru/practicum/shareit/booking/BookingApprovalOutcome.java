@@ -0,0 +1,7 @@
+package ru.practicum.shareit.booking;
+
+public enum BookingApprovalOutcome {
+    UPDATED,
+    NOT_FOUND,
+    CONFLICT
+}
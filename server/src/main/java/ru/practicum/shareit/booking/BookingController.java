@@ -4,10 +4,17 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import ru.practicum.shareit.booking.dto.BookingApprovalDto;
+import ru.practicum.shareit.booking.dto.BookingApprovalResultDto;
 import ru.practicum.shareit.booking.dto.BookingCreationDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.exception.BadRequestException;
+import ru.practicum.shareit.export.NdjsonWriter;
 import ru.practicum.shareit.responseFormat.ResponseFormat;
 
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
 import java.util.List;
 
 @Slf4j
@@ -15,6 +22,8 @@ import java.util.List;
 @RequestMapping(path = "/bookings")
 @RequiredArgsConstructor
 public class BookingController {
+    private static final int MAX_APPROVAL_SIZE = 1000;
+
     private final BookingService service;
 
     @GetMapping
@@ -22,7 +31,12 @@ public class BookingController {
             @RequestHeader(name = "X-Sharer-User-Id") long userId,
             @RequestParam(defaultValue = "ALL", required = false) String state,
             @RequestParam(defaultValue = "0") int from,
-            @RequestParam(defaultValue = "10") int size) {
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) String after) {
+        if (after != null) {
+            return service.findBookingsForUser(userId, state, after, size).toResponseEntity();
+        }
+
         return ResponseEntity.ok().body(service.findBookingsForUser(userId, state, from, size));
     }
 
@@ -31,15 +45,35 @@ public class BookingController {
             @RequestHeader(name = "X-Sharer-User-Id") long ownerId,
             @RequestParam(defaultValue = "ALL", required = false) String state,
             @RequestParam(defaultValue = "0") int from,
-            @RequestParam(defaultValue = "10") int size) {
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) String after) {
+        if (after != null) {
+            return service.findBookingsForOwner(ownerId, state, after, size).toResponseEntity();
+        }
+
         return ResponseEntity.ok().body(service.findBookingsForOwner(ownerId, state, from, size));
     }
 
+    @GetMapping("/export")
+    public void exportBookings(@RequestHeader(name = "X-Sharer-User-Id") long userId,
+                               HttpServletResponse response) throws IOException {
+        response.setContentType(NdjsonWriter.MEDIA_TYPE);
+
+        service.exportBookings(userId, response.getOutputStream());
+    }
+
     @GetMapping("/{bookingId}")
     public ResponseEntity<BookingDto> findBooking(
             @RequestHeader(name = "X-Sharer-User-Id") long userId,
-            @PathVariable long bookingId) {
-        return ResponseEntity.ok().body(service.findBooking(userId, bookingId));
+            @PathVariable long bookingId,
+            WebRequest request) {
+        String eTag = service.findBookingETag(userId, bookingId);
+
+        if (request.checkNotModified(eTag)) {
+            return null;
+        }
+
+        return ResponseEntity.ok().eTag(eTag).body(service.findBooking(userId, bookingId));
     }
 
     @PostMapping
@@ -54,9 +88,39 @@ public class BookingController {
         return ResponseEntity.ok().body(service.updateBooking(ownerId, bookingId, approved));
     }
 
+    @PatchMapping("/approve")
+    public ResponseEntity<List<BookingApprovalResultDto>> updateBookings(
+            @RequestHeader("X-Sharer-User-Id") long ownerId,
+            @RequestBody BookingApprovalDto approval) {
+        validateApproval(approval);
+
+        return ResponseEntity.ok().body(service.updateBookings(ownerId, approval.getBookingIds(),
+                approval.getApproved()));
+    }
+
     @DeleteMapping("/{bookingId}")
     public ResponseEntity<ResponseFormat> deleteBooking(@RequestHeader("X-Sharer-User-Id") long userId,
                                                         @PathVariable long bookingId) {
         return ResponseEntity.ok().body(service.deleteBooking(userId, bookingId));
     }
+
+    private void validateApproval(BookingApprovalDto approval) {
+        String message = null;
+
+        if (approval.getBookingIds() == null || approval.getBookingIds().isEmpty()) {
+            message = "Список бронирований не должен быть пустым";
+        } else if (approval.getBookingIds().size() > MAX_APPROVAL_SIZE) {
+            message = "Список бронирований не должен превышать " + MAX_APPROVAL_SIZE + " элементов";
+        } else if (approval.getBookingIds().contains(null)) {
+            message = "Список бронирований не должен содержать пустых значений";
+        } else if (approval.getApproved() == null) {
+            message = "Не указано решение по бронированиям";
+        }
+
+        if (message != null) {
+            log.info(message);
+
+            throw new BadRequestException(message);
+        }
+    }
 }
\ No newline at end of file
@@ -6,6 +6,7 @@ import org.mapstruct.factory.Mappers;
 import ru.practicum.shareit.booking.dto.BookingCreationDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingForItemDto;
+import ru.practicum.shareit.booking.dto.BookingForItemView;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.UserMapper;
@@ -26,8 +27,11 @@ public interface BookingMapper {
     @Mapping(source = "bookingDto.id", target = "id")
     @Mapping(source = "booker", target = "booker")
     @Mapping(source = "item", target = "item")
+    @Mapping(target = "version", ignore = true)
     Booking mapToNewBooking(BookingCreationDto bookingDto, User booker, Item item);
 
     @Mapping(source = "booker.id", target = "bookerId")
     BookingForItemDto mapToBookingForItemDto(Booking booking);
+
+    BookingForItemDto mapToBookingForItemDto(BookingForItemView booking);
 }
\ No newline at end of file
@@ -1,57 +1,220 @@
 package ru.practicum.shareit.booking;
 
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.dto.BookingApprovalView;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingForItemView;
+import ru.practicum.shareit.booking.dto.BookingVersionView;
 import ru.practicum.shareit.booking.model.Booking;
 
+import javax.persistence.QueryHint;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface BookingRepository extends JpaRepository<Booking, Long> {
+public interface BookingRepository extends JpaRepository<Booking, Long>, BookingRepositoryCustom {
 
-    @Query("SELECT booking " +
+    String BOOKING_DTO = "SELECT new ru.practicum.shareit.booking.dto.BookingDto(booking.id, booking.start, " +
+            "booking.end, b.id, b.email, b.name, b.registrationDate, " +
+            "i.id, i.name, i.description, i.available, i.creationDate, " +
+            "booking.status, booking.creationDate) " +
             "FROM Booking AS booking " +
-            "JOIN booking.item AS i " +
-            "WHERE i.id = ?1 " +
-            "ORDER BY booking.start ASC")
-    List<Booking> findBookingsForItem(long itemId);
+            "JOIN booking.booker AS b " +
+            "JOIN booking.item AS i ";
+
+    boolean existsByItemIdAndBookerIdAndStartBefore(long itemId, long bookerId, LocalDateTime now);
+
+    @Query(value = "SELECT ranked.id AS \"id\", ranked.item_id AS \"itemId\", ranked.booker_id AS \"bookerId\", " +
+            "ranked.start_time AS \"start\", ranked.end_time AS \"end\", ranked.status AS \"status\", " +
+            "ranked.creation_date AS \"creationDate\", ranked.next AS \"next\" " +
+            "FROM (" +
+            "SELECT b.id, b.item_id, b.booker_id, b.start_time, b.end_time, b.status, b.creation_date, " +
+            "FALSE AS next, ROW_NUMBER() OVER (PARTITION BY b.item_id ORDER BY b.start_time DESC, b.id DESC) AS rn " +
+            "FROM bookings AS b " +
+            "WHERE b.item_id IN (:itemIds) AND b.status = 'APPROVED' AND b.start_time < :now " +
+            "UNION ALL " +
+            "SELECT b.id, b.item_id, b.booker_id, b.start_time, b.end_time, b.status, b.creation_date, " +
+            "TRUE AS next, ROW_NUMBER() OVER (PARTITION BY b.item_id ORDER BY b.start_time ASC, b.id ASC) AS rn " +
+            "FROM bookings AS b " +
+            "WHERE b.item_id IN (:itemIds) AND b.status = 'APPROVED' AND b.start_time > :now" +
+            ") AS ranked " +
+            "WHERE ranked.rn = 1", nativeQuery = true)
+    List<BookingForItemView> findLastAndNextBookingsForItemIn(@Param("itemIds") Collection<Long> itemIds,
+                                                              @Param("now") LocalDateTime now);
+
+    @EntityGraph(attributePaths = {"item", "booker"})
+    Optional<Booking> findBookingById(long bookingId);
+
+    @Query(BOOKING_DTO +
+            "WHERE booking.id = ?1")
+    Optional<BookingDto> findBookingDtoById(long bookingId);
 
-    @Query("SELECT booking " +
+    @Query("SELECT booking.version AS version, item.version AS itemVersion, booker.version AS bookerVersion, " +
+            "booker.id AS bookerId, owner.id AS ownerId " +
             "FROM Booking AS booking " +
-            "JOIN booking.item AS i " +
-            "WHERE i.id IN (?1) " +
-            "ORDER BY booking.start ASC")
-    List<Booking> findBookingsForItemIn(List<Long> itemId);
+            "JOIN booking.item AS item " +
+            "JOIN item.owner AS owner " +
+            "JOIN booking.booker AS booker " +
+            "WHERE booking.id = ?1")
+    Optional<BookingVersionView> findBookingVersionById(long bookingId);
 
-    @Query("SELECT booking " +
+    @Query("SELECT booking.id AS id, item.id AS itemId, item.owner.id AS ownerId, booking.status AS status " +
             "FROM Booking AS booking " +
-            "JOIN booking.booker AS b " +
+            "JOIN booking.item AS item " +
+            "WHERE booking.id IN ?1")
+    List<BookingApprovalView> findBookingApprovalViewsByIdIn(Collection<Long> bookingIds);
+
+    boolean existsByItemIdAndStatusNotAndStartBeforeAndEndAfter(long itemId, BookingStatus status,
+                                                              LocalDateTime end, LocalDateTime start);
+
+    @Query(BOOKING_DTO +
             "WHERE b.id = ?1 " +
-            "ORDER BY booking.start DESC")
-    List<Booking> findBookingsForUser(long userId, PageRequest page);
+            "ORDER BY booking.start DESC, booking.id DESC")
+    List<BookingDto> findBookingsForUser(long userId, PageRequest page);
 
-    @Query("SELECT booking " +
-            "FROM Booking AS booking " +
-            "JOIN booking.booker AS b " +
+    @Query(BOOKING_DTO +
             "WHERE b.id = ?1 AND booking.status = ?2 " +
-            "ORDER BY booking.start DESC")
-    List<Booking> findBookingsByStatusForUser(long userId, BookingStatus status, PageRequest page);
+            "ORDER BY booking.start DESC, booking.id DESC")
+    List<BookingDto> findBookingsByStatusForUser(long userId, BookingStatus status, PageRequest page);
 
-    @Query("SELECT booking " +
-            "FROM Booking AS booking " +
-            "JOIN booking.item AS i " +
-            "JOIN i.owner AS o " +
-            "WHERE o.id = ?1 " +
-            "ORDER BY booking.start DESC")
-    List<Booking> findBookingsForOwner(long userId, PageRequest page);
+    @Query(BOOKING_DTO +
+            "WHERE b.id = ?1 AND booking.start > ?2 " +
+            "ORDER BY booking.start DESC, booking.id DESC")
+    List<BookingDto> findFutureBookingsForUser(long userId, LocalDateTime now, PageRequest page);
 
-    @Query("SELECT booking " +
-            "FROM Booking AS booking " +
-            "JOIN booking.item AS i " +
-            "JOIN i.owner AS o " +
-            "WHERE o.id = ?1 AND booking.status = ?2 " +
-            "ORDER BY booking.start DESC")
-    List<Booking> findBookingsByStatusForOwner(long ownerId, BookingStatus status, PageRequest page);
+    @Query(BOOKING_DTO +
+            "WHERE b.id = ?1 AND booking.start < ?2 AND booking.end > ?2 " +
+            "ORDER BY booking.start DESC, booking.id DESC")
+    List<BookingDto> findCurrentBookingsForUser(long userId, LocalDateTime now, PageRequest page);
+
+    @Query(BOOKING_DTO +
+            "WHERE b.id = ?1 AND booking.end < ?2 " +
+            "ORDER BY booking.start DESC, booking.id DESC")
+    List<BookingDto> findPastBookingsForUser(long userId, LocalDateTime now, PageRequest page);
+
+    @Query(BOOKING_DTO +
+            "WHERE b.id = ?1 AND (booking.start < ?2 OR (booking.start = ?2 AND booking.id < ?3)) " +
+            "ORDER BY booking.start DESC, booking.id DESC")
+    List<BookingDto> findBookingsForUserAfter(long userId, LocalDateTime start, long bookingId, PageRequest page);
+
+    @Query(BOOKING_DTO +
+            "WHERE b.id = ?1 AND booking.status = ?2 " +
+            "AND (booking.start < ?3 OR (booking.start = ?3 AND booking.id < ?4)) " +
+            "ORDER BY booking.start DESC, booking.id DESC")
+    List<BookingDto> findBookingsByStatusForUserAfter(long userId, BookingStatus status, LocalDateTime start,
+                                                   long bookingId, PageRequest page);
+
+    @Query(BOOKING_DTO +
+            "WHERE b.id = ?1 AND booking.start > ?2 " +
+            "AND (booking.start < ?3 OR (booking.start = ?3 AND booking.id < ?4)) " +
+            "ORDER BY booking.start DESC, booking.id DESC")
+    List<BookingDto> findFutureBookingsForUserAfter(long userId, LocalDateTime now, LocalDateTime start, long bookingId,
+                                                 PageRequest page);
+
+    @Query(BOOKING_DTO +
+            "WHERE b.id = ?1 AND booking.start < ?2 AND booking.end > ?2 " +
+            "AND (booking.start < ?3 OR (booking.start = ?3 AND booking.id < ?4)) " +
+            "ORDER BY booking.start DESC, booking.id DESC")
+    List<BookingDto> findCurrentBookingsForUserAfter(long userId, LocalDateTime now, LocalDateTime start, long bookingId,
+                                                  PageRequest page);
+
+    @Query(BOOKING_DTO +
+            "WHERE b.id = ?1 AND booking.end < ?2 " +
+            "AND (booking.start < ?3 OR (booking.start = ?3 AND booking.id < ?4)) " +
+            "ORDER BY booking.start DESC, booking.id DESC")
+    List<BookingDto> findPastBookingsForUserAfter(long userId, LocalDateTime now, LocalDateTime start, long bookingId,
+                                               PageRequest page);
+
+    @Query(BOOKING_DTO +
+            "WHERE i.owner.id = ?1 " +
+            "ORDER BY booking.start DESC, booking.id DESC")
+    List<BookingDto> findBookingsForOwner(long userId, PageRequest page);
+
+    @Query(BOOKING_DTO +
+            "WHERE i.owner.id = ?1 AND booking.status = ?2 " +
+            "ORDER BY booking.start DESC, booking.id DESC")
+    List<BookingDto> findBookingsByStatusForOwner(long ownerId, BookingStatus status, PageRequest page);
+
+    @Query(BOOKING_DTO +
+            "WHERE i.owner.id = ?1 AND booking.start > ?2 " +
+            "ORDER BY booking.start DESC, booking.id DESC")
+    List<BookingDto> findFutureBookingsForOwner(long ownerId, LocalDateTime now, PageRequest page);
+
+    @Query(BOOKING_DTO +
+            "WHERE i.owner.id = ?1 AND booking.start < ?2 AND booking.end > ?2 " +
+            "ORDER BY booking.start DESC, booking.id DESC")
+    List<BookingDto> findCurrentBookingsForOwner(long ownerId, LocalDateTime now, PageRequest page);
+
+    @Query(BOOKING_DTO +
+            "WHERE i.owner.id = ?1 AND booking.end < ?2 " +
+            "ORDER BY booking.start DESC, booking.id DESC")
+    List<BookingDto> findPastBookingsForOwner(long ownerId, LocalDateTime now, PageRequest page);
+
+    @Query(BOOKING_DTO +
+            "WHERE i.owner.id = ?1 AND (booking.start < ?2 OR (booking.start = ?2 AND booking.id < ?3)) " +
+            "ORDER BY booking.start DESC, booking.id DESC")
+    List<BookingDto> findBookingsForOwnerAfter(long ownerId, LocalDateTime start, long bookingId, PageRequest page);
+
+    @Query(BOOKING_DTO +
+            "WHERE i.owner.id = ?1 AND booking.status = ?2 " +
+            "AND (booking.start < ?3 OR (booking.start = ?3 AND booking.id < ?4)) " +
+            "ORDER BY booking.start DESC, booking.id DESC")
+    List<BookingDto> findBookingsByStatusForOwnerAfter(long ownerId, BookingStatus status, LocalDateTime start,
+                                                    long bookingId, PageRequest page);
+
+    @Query(BOOKING_DTO +
+            "WHERE i.owner.id = ?1 AND booking.start > ?2 " +
+            "AND (booking.start < ?3 OR (booking.start = ?3 AND booking.id < ?4)) " +
+            "ORDER BY booking.start DESC, booking.id DESC")
+    List<BookingDto> findFutureBookingsForOwnerAfter(long ownerId, LocalDateTime now, LocalDateTime start, long bookingId,
+                                                  PageRequest page);
+
+    @Query(BOOKING_DTO +
+            "WHERE i.owner.id = ?1 AND booking.start < ?2 AND booking.end > ?2 " +
+            "AND (booking.start < ?3 OR (booking.start = ?3 AND booking.id < ?4)) " +
+            "ORDER BY booking.start DESC, booking.id DESC")
+    List<BookingDto> findCurrentBookingsForOwnerAfter(long ownerId, LocalDateTime now, LocalDateTime start, long bookingId,
+                                                   PageRequest page);
+
+    @Query(BOOKING_DTO +
+            "WHERE i.owner.id = ?1 AND booking.end < ?2 " +
+            "AND (booking.start < ?3 OR (booking.start = ?3 AND booking.id < ?4)) " +
+            "ORDER BY booking.start DESC, booking.id DESC")
+    List<BookingDto> findPastBookingsForOwnerAfter(long ownerId, LocalDateTime now, LocalDateTime start, long bookingId,
+                                                PageRequest page);
+
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "500"))
+    @Query(BOOKING_DTO +
+            "WHERE b.id = ?1 " +
+            "ORDER BY booking.start DESC, booking.id DESC")
+    Stream<BookingDto> streamBookingsForUser(long userId);
+
+    boolean existsBookingById(long bookingId);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE Booking AS booking " +
+            "SET booking.status = ?3, booking.version = booking.version + 1 " +
+            "WHERE booking.id = ?1 " +
+            "AND booking.status = ru.practicum.shareit.booking.BookingStatus.WAITING " +
+            "AND booking.item.id IN (SELECT i.id FROM Item AS i WHERE i.owner.id = ?2)")
+    int updateWaitingBookingStatus(long bookingId, long ownerId, BookingStatus status);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM Booking AS booking " +
+            "WHERE booking.id = ?1 " +
+            "AND (booking.booker.id = ?2 OR booking.item.id IN (SELECT i.id FROM Item AS i WHERE i.owner.id = ?2))")
+    int deleteBookingByIdForBookerOrOwner(long bookingId, long userId);
 }
\ No newline at end of file
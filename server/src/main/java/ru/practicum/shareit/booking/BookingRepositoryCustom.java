@@ -0,0 +1,7 @@
+package ru.practicum.shareit.booking;
+
+import java.util.List;
+
+public interface BookingRepositoryCustom {
+    int[] updateWaitingBookingStatuses(List<Long> bookingIds, BookingStatus status);
+}
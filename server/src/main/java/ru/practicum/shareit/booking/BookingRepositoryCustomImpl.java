@@ -0,0 +1,30 @@
+package ru.practicum.shareit.booking;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+@RequiredArgsConstructor
+public class BookingRepositoryCustomImpl implements BookingRepositoryCustom {
+    private final JdbcTemplate jdbcTemplate;
+
+    @Transactional
+    @Override
+    public int[] updateWaitingBookingStatuses(List<Long> bookingIds, BookingStatus status) {
+        if (bookingIds.isEmpty()) {
+            return new int[0];
+        }
+
+        int[][] updated = jdbcTemplate.batchUpdate("UPDATE bookings " +
+                        "SET status = ?, version = version + 1 " +
+                        "WHERE id = ? AND status = 'WAITING'", bookingIds, bookingIds.size(),
+                (statement, bookingId) -> {
+                    statement.setString(1, status.name());
+                    statement.setLong(2, bookingId);
+                });
+
+        return updated[0];
+    }
+}
@@ -1,21 +1,34 @@
 package ru.practicum.shareit.booking;
 
+import ru.practicum.shareit.booking.dto.BookingApprovalResultDto;
 import ru.practicum.shareit.booking.dto.BookingCreationDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.pagination.CursorPage;
 import ru.practicum.shareit.responseFormat.ResponseFormat;
 
+import java.io.OutputStream;
 import java.util.List;
 
 public interface BookingService {
-    List<BookingDto> findBookingsForUser(long userId, String status, int from, int size);
+    List<BookingDto> findBookingsForUser(long userId, String state, int from, int size);
 
-    List<BookingDto> findBookingsForOwner(long ownerId, String status, int from, int size);
+    CursorPage<BookingDto> findBookingsForUser(long userId, String state, String after, int size);
+
+    List<BookingDto> findBookingsForOwner(long ownerId, String state, int from, int size);
+
+    CursorPage<BookingDto> findBookingsForOwner(long ownerId, String state, String after, int size);
 
     BookingDto findBooking(long userId, long bookingId);
 
+    String findBookingETag(long userId, long bookingId);
+
+    long exportBookings(long userId, OutputStream out);
+
     BookingDto createBooking(long userId, BookingCreationDto bookingCreationDto);
 
     BookingDto updateBooking(long ownerId, long bookingId, boolean approved);
 
+    List<BookingApprovalResultDto> updateBookings(long ownerId, List<Long> bookingIds, boolean approved);
+
     ResponseFormat deleteBooking(long userId, long bookingId);
 }
\ No newline at end of file
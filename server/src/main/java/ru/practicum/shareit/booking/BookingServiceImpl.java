@@ -1,35 +1,60 @@
 package ru.practicum.shareit.booking;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.dto.BookingApprovalResultDto;
+import ru.practicum.shareit.booking.dto.BookingApprovalView;
 import ru.practicum.shareit.booking.dto.BookingCreationDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingVersionView;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.exception.BadRequestException;
 import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.export.NdjsonWriter;
+import ru.practicum.shareit.item.ItemBookingPointers;
 import ru.practicum.shareit.item.ItemRepository;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.metrics.MetricsConfig;
+import ru.practicum.shareit.pagination.CursorPage;
+import ru.practicum.shareit.pagination.PageCursor;
 import ru.practicum.shareit.responseFormat.ResponseFormat;
 import ru.practicum.shareit.user.UserRepository;
 import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.validation.EntityExistenceValidator;
 
+import java.io.OutputStream;
+import java.sql.SQLException;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Slf4j
 @Service
+@Timed(MetricsConfig.SERVICE_TIMER)
 @RequiredArgsConstructor
 public class BookingServiceImpl implements BookingService {
+    private static final String EXCLUSION_VIOLATION = "23P01";
+    private static final String ITEM_PERIOD_CONSTRAINT = "ex_bookings_item_period";
+
     private final BookingRepository bookingRepository;
     private final UserRepository userRepository;
     private final ItemRepository itemRepository;
+    private final EntityExistenceValidator existenceValidator;
+    private final ItemBookingPointers itemBookingPointers;
+    private final NdjsonWriter ndjsonWriter;
 
     @Override
     @Transactional(readOnly = true)
@@ -40,42 +65,27 @@ public class BookingServiceImpl implements BookingService {
 
         QueryState queryState = Enum.valueOf(QueryState.class, state);
 
-        checkUserExists(userId);
+        existenceValidator.checkUserExists(userId);
 
-        List<Booking> bookings = new ArrayList<>();
+        return getBookingsForUser(userId, queryState, page);
+    }
 
-        switch (queryState) {
-            case ALL:
-                bookings = bookingRepository.findBookingsForUser(userId, page);
-                break;
-            case WAITING:
-                bookings = bookingRepository.findBookingsByStatusForUser(userId, BookingStatus.WAITING, page);
-                break;
-            case REJECTED:
-                bookings = bookingRepository.findBookingsByStatusForUser(userId, BookingStatus.REJECTED, page);
-                break;
-            case FUTURE:
-                bookings = bookingRepository.findBookingsForUser(userId, page)
-                        .stream()
-                        .filter(b -> b.getStart().isAfter(LocalDateTime.now()))
-                        .collect(Collectors.toList());
-                break;
-            case CURRENT:
-                bookings = bookingRepository.findBookingsForUser(userId, page)
-                        .stream()
-                        .filter(b -> b.getStart().isBefore(LocalDateTime.now())
-                                && b.getEnd().isAfter(LocalDateTime.now()))
-                        .collect(Collectors.toList());
-                break;
-            case PAST:
-                bookings = bookingRepository.findBookingsForUser(userId, page)
-                        .stream()
-                        .filter(b -> b.getEnd().isBefore(LocalDateTime.now()))
-                        .collect(Collectors.toList());
-                break;
-        }
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<BookingDto> findBookingsForUser(long userId, String state, String after, int size) {
+        log.info("Запрос списка бронирования вещей пользователем с ID: " + userId + " после курсора: " + after);
+
+        PageRequest page = PageRequest.of(0, size);
+
+        QueryState queryState = Enum.valueOf(QueryState.class, state);
+
+        existenceValidator.checkUserExists(userId);
 
-        return BookingMapper.INSTANCE.mapToBookingDto(bookings);
+        List<BookingDto> bookings = after.isBlank()
+                ? getBookingsForUser(userId, queryState, page)
+                : getBookingsForUserAfter(userId, queryState, PageCursor.decode(after), page);
+
+        return CursorPage.of(bookings, size, b -> PageCursor.encode(b.getStart(), b.getId()));
     }
 
     @Override
@@ -87,42 +97,39 @@ public class BookingServiceImpl implements BookingService {
 
         QueryState queryState = Enum.valueOf(QueryState.class, state);
 
-        checkUserExists(ownerId);
+        existenceValidator.checkUserExists(ownerId);
 
-        List<Booking> bookings = new ArrayList<>();
+        return getBookingsForOwner(ownerId, queryState, page);
+    }
 
-        switch (queryState) {
-            case ALL:
-                bookings = bookingRepository.findBookingsForOwner(ownerId, page);
-                break;
-            case WAITING:
-                bookings = bookingRepository.findBookingsByStatusForOwner(ownerId, BookingStatus.WAITING, page);
-                break;
-            case REJECTED:
-                bookings = bookingRepository.findBookingsByStatusForOwner(ownerId, BookingStatus.REJECTED, page);
-                break;
-            case FUTURE:
-                bookings = bookingRepository.findBookingsForOwner(ownerId, page)
-                        .stream()
-                        .filter(b -> b.getStart().isAfter(LocalDateTime.now()))
-                        .collect(Collectors.toList());
-                break;
-            case CURRENT:
-                bookings = bookingRepository.findBookingsForOwner(ownerId, page)
-                        .stream()
-                        .filter(b -> b.getStart().isBefore(LocalDateTime.now())
-                                && b.getEnd().isAfter(LocalDateTime.now()))
-                        .collect(Collectors.toList());
-                break;
-            case PAST:
-                bookings = bookingRepository.findBookingsForOwner(ownerId, page)
-                        .stream()
-                        .filter(b -> b.getEnd().isBefore(LocalDateTime.now()))
-                        .collect(Collectors.toList());
-                break;
-        }
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<BookingDto> findBookingsForOwner(long ownerId, String state, String after, int size) {
+        log.info("Запрос списка бронирования вещей владельца с ID: " + ownerId + " после курсора: " + after);
+
+        PageRequest page = PageRequest.of(0, size);
+
+        QueryState queryState = Enum.valueOf(QueryState.class, state);
 
-        return BookingMapper.INSTANCE.mapToBookingDto(bookings);
+        existenceValidator.checkUserExists(ownerId);
+
+        List<BookingDto> bookings = after.isBlank()
+                ? getBookingsForOwner(ownerId, queryState, page)
+                : getBookingsForOwnerAfter(ownerId, queryState, PageCursor.decode(after), page);
+
+        return CursorPage.of(bookings, size, b -> PageCursor.encode(b.getStart(), b.getId()));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long exportBookings(long userId, OutputStream out) {
+        log.info("Экспорт бронирований пользователя с ID: " + userId);
+
+        existenceValidator.checkUserExists(userId);
+
+        try (Stream<BookingDto> bookings = bookingRepository.streamBookingsForUser(userId)) {
+            return ndjsonWriter.write(bookings, out);
+        }
     }
 
     @Override
@@ -130,9 +137,9 @@ public class BookingServiceImpl implements BookingService {
     public BookingDto findBooking(long userId, long bookingId) {
         log.info("Запрос бронирования с ID: " + bookingId);
 
-        checkUserExists(userId);
+        existenceValidator.checkUserExists(userId);
 
-        Booking booking = bookingRepository.findById(bookingId)
+        Booking booking = bookingRepository.findBookingById(bookingId)
                 .orElseThrow(() -> new NotFoundException("Бронирование с ID: " + bookingId + " не существует"));
 
         if (userId == booking.getItem().getOwner().getId() || userId == booking.getBooker().getId()) {
@@ -146,14 +153,34 @@ public class BookingServiceImpl implements BookingService {
         }
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public String findBookingETag(long userId, long bookingId) {
+        existenceValidator.checkUserExists(userId);
+
+        BookingVersionView version = bookingRepository.findBookingVersionById(bookingId)
+                .orElseThrow(() -> new NotFoundException("Бронирование с ID: " + bookingId + " не существует"));
+
+        if (userId != version.getOwnerId() && userId != version.getBookerId()) {
+            String message = "Пользователь с ID: " + userId + " не является владельцем или арендатором";
+
+            log.info(message);
+
+            throw new NotFoundException(message);
+        }
+
+        return bookingId + "-" + version.getVersion() + "-" + version.getItemVersion() + "-"
+                + version.getBookerVersion();
+    }
+
     @Override
     public BookingDto createBooking(long userId, BookingCreationDto bookingCreationDto) {
         log.info("Запрос бронирования вещи с id: " + bookingCreationDto.getItemId()
                 + " от пользователя с id: " + userId);
 
-        User booker = userRepository.findById(userId)
+        User booker = userRepository.findUserById(userId)
                 .orElseThrow(() -> new NotFoundException("Пользователь с ID: " + userId + " не существует"));
-        Item item = itemRepository.findById(bookingCreationDto.getItemId())
+        Item item = itemRepository.findItemById(bookingCreationDto.getItemId())
                 .orElseThrow(() -> new NotFoundException("Вещь с ID: " + bookingCreationDto.getItemId()
                         + " не существует"));
 
@@ -187,111 +214,246 @@ public class BookingServiceImpl implements BookingService {
 
         Booking booking = BookingMapper.INSTANCE.mapToNewBooking(bookingCreationDto, booker, item);
 
-        return BookingMapper.INSTANCE.mapToBookingDto(bookingRepository.save(booking));
+        try {
+            return BookingMapper.INSTANCE.mapToBookingDto(bookingRepository.save(booking));
+        } catch (DataIntegrityViolationException e) {
+            if (isItemPeriodViolation(e)) {
+                throw intersectionException();
+            }
+
+            throw e;
+        }
     }
 
     @Override
     public BookingDto updateBooking(long ownerId, long bookingId, boolean approved) {
         log.info("Запрос подтверждения бронирования с id: " + bookingId + " владельцем с id: " + ownerId);
 
-        checkUserExists(ownerId);
+        existenceValidator.checkUserExists(ownerId);
+
+        BookingStatus status = approved ? BookingStatus.APPROVED : BookingStatus.REJECTED;
+
+        if (bookingRepository.updateWaitingBookingStatus(bookingId, ownerId, status) == 0) {
+            throw bookingUpdateException(ownerId, bookingId);
+        }
 
-        Booking updatedBooking = bookingRepository.findById(bookingId)
+        BookingDto bookingDto = bookingRepository.findBookingDtoById(bookingId)
                 .orElseThrow(() -> new NotFoundException("Booking с ID: " + bookingId + " не существует"));
 
-        if (ownerId != updatedBooking.getItem().getOwner().getId()) {
-            String message = "Пользователь с переданным ID: " + ownerId + " не является владельцем вещи с ID: "
-                    + updatedBooking.getItem().getId();
+        itemBookingPointers.refresh(bookingDto.getItem().getId());
 
-            log.info(message);
+        return bookingDto;
+    }
 
-            throw new NotFoundException(message);
-        }
+    @Override
+    @Transactional
+    public List<BookingApprovalResultDto> updateBookings(long ownerId, List<Long> bookingIds, boolean approved) {
+        log.info("Запрос подтверждения " + bookingIds.size() + " бронирований владельцем с id: " + ownerId);
 
-        if (updatedBooking.getStatus() == BookingStatus.APPROVED) {
-            String message = "Владелец с ID: " + ownerId + " уже одобрил бронирование вещи с ID: "
-                    + updatedBooking.getItem().getId();
+        existenceValidator.checkUserExists(ownerId);
 
-            log.info(message);
+        Set<Long> uniqueBookingIds = new LinkedHashSet<>(bookingIds);
 
-            throw new BadRequestException(message);
+        Map<Long, BookingApprovalView> bookings = bookingRepository
+                .findBookingApprovalViewsByIdIn(uniqueBookingIds).stream()
+                .filter(b -> b.getOwnerId() == ownerId)
+                .collect(Collectors.toMap(BookingApprovalView::getId, Function.identity()));
+
+        List<Long> waitingBookingIds = uniqueBookingIds.stream()
+                .filter(bookings::containsKey)
+                .filter(id -> bookings.get(id).getStatus() == BookingStatus.WAITING)
+                .collect(Collectors.toList());
+
+        BookingStatus status = approved ? BookingStatus.APPROVED : BookingStatus.REJECTED;
+
+        int[] updated = bookingRepository.updateWaitingBookingStatuses(waitingBookingIds, status);
+
+        Set<Long> updatedBookingIds = new HashSet<>();
+
+        for (int i = 0; i < updated.length; i++) {
+            if (updated[i] > 0) {
+                updatedBookingIds.add(waitingBookingIds.get(i));
+            }
         }
 
-        if (approved) {
-            updatedBooking.setStatus(BookingStatus.APPROVED);
-        } else {
-            updatedBooking.setStatus(BookingStatus.REJECTED);
+        List<BookingApprovalResultDto> results = new ArrayList<>(uniqueBookingIds.size());
+
+        for (Long bookingId : uniqueBookingIds) {
+            BookingApprovalView booking = bookings.get(bookingId);
+
+            if (booking == null) {
+                results.add(new BookingApprovalResultDto(bookingId, BookingApprovalOutcome.NOT_FOUND, null));
+            } else if (updatedBookingIds.contains(bookingId)) {
+                results.add(new BookingApprovalResultDto(bookingId, BookingApprovalOutcome.UPDATED, status));
+            } else {
+                results.add(new BookingApprovalResultDto(bookingId, BookingApprovalOutcome.CONFLICT,
+                        booking.getStatus() == BookingStatus.WAITING ? null : booking.getStatus()));
+            }
         }
 
-        return BookingMapper.INSTANCE.mapToBookingDto(bookingRepository.save(updatedBooking));
+        log.info("Владелец с ID: " + ownerId + " обработал " + updatedBookingIds.size() + " из "
+                + uniqueBookingIds.size() + " бронирований");
+
+        itemBookingPointers.refresh(updatedBookingIds.stream()
+                .map(id -> bookings.get(id).getItemId())
+                .collect(Collectors.toSet()));
+
+        return results;
     }
 
     @Override
     public ResponseFormat deleteBooking(long userId, long bookingId) {
         log.info("Запрос удаления бронирования с id: " + bookingId + " пользователем с id: " + userId);
 
-        checkUserExists(userId);
+        existenceValidator.checkUserExists(userId);
 
-        Booking removableBooking = bookingRepository.findById(bookingId)
-                .orElseThrow(() -> new NotFoundException("Booking с ID: " + bookingId + " не существует"));
+        if (bookingRepository.deleteBookingByIdForBookerOrOwner(bookingId, userId) == 0) {
+            if (!bookingRepository.existsBookingById(bookingId)) {
+                throw new NotFoundException("Booking с ID: " + bookingId + " не существует");
+            }
 
-        if ((userId != removableBooking.getItem().getOwner().getId())
-                && (userId != removableBooking.getBooker().getId())) {
-            String message = "Пользователь с переданным ID: " + userId + " не является ни владельцем вещи с ID: "
-                    + removableBooking.getItem().getId() + " ни создателем запроса бронирования";
+            String message = "Пользователь с переданным ID: " + userId + " не является ни владельцем вещи"
+                    + " ни создателем запроса бронирования с ID: " + bookingId;
 
             log.info(message);
 
             throw new NotFoundException(message);
         }
 
-        bookingRepository.deleteById(bookingId);
+        itemBookingPointers.refreshForBooking(bookingId);
 
-        if (bookingRepository.findById(bookingId).isEmpty()) {
-            String message = "Запрос бронирования с id: " + bookingId + " успешно удален";
+        String message = "Запрос бронирования с id: " + bookingId + " успешно удален";
 
-            log.info(message);
+        log.info(message);
 
-            return new ResponseFormat(message, HttpStatus.OK);
-        } else {
-            String message = "Запрос бронирония с id: " + bookingId + " удалить не удалось";
-
-            log.warn(message);
+        return new ResponseFormat(message, HttpStatus.OK);
+    }
 
-            throw new BadRequestException(message);
+    private List<BookingDto> getBookingsForUser(long userId, QueryState queryState, PageRequest page) {
+        switch (queryState) {
+            case WAITING:
+                return bookingRepository.findBookingsByStatusForUser(userId, BookingStatus.WAITING, page);
+            case REJECTED:
+                return bookingRepository.findBookingsByStatusForUser(userId, BookingStatus.REJECTED, page);
+            case FUTURE:
+                return bookingRepository.findFutureBookingsForUser(userId, LocalDateTime.now(), page);
+            case CURRENT:
+                return bookingRepository.findCurrentBookingsForUser(userId, LocalDateTime.now(), page);
+            case PAST:
+                return bookingRepository.findPastBookingsForUser(userId, LocalDateTime.now(), page);
+            default:
+                return bookingRepository.findBookingsForUser(userId, page);
         }
     }
 
-    private void checkingForNonIntersections(BookingCreationDto bookingCreationDto) {
-        List<Booking> bookingsForItem = bookingRepository.findBookingsForItem(bookingCreationDto.getItemId());
+    private List<BookingDto> getBookingsForUserAfter(long userId, QueryState queryState, PageCursor cursor,
+                                                     PageRequest page) {
+        LocalDateTime start = cursor.getKeyAsLocalDateTime();
 
-        if (bookingsForItem.isEmpty()) {
-            return;
+        switch (queryState) {
+            case WAITING:
+                return bookingRepository
+                        .findBookingsByStatusForUserAfter(userId, BookingStatus.WAITING, start, cursor.getId(), page);
+            case REJECTED:
+                return bookingRepository
+                        .findBookingsByStatusForUserAfter(userId, BookingStatus.REJECTED, start, cursor.getId(), page);
+            case FUTURE:
+                return bookingRepository
+                        .findFutureBookingsForUserAfter(userId, LocalDateTime.now(), start, cursor.getId(), page);
+            case CURRENT:
+                return bookingRepository
+                        .findCurrentBookingsForUserAfter(userId, LocalDateTime.now(), start, cursor.getId(), page);
+            case PAST:
+                return bookingRepository
+                        .findPastBookingsForUserAfter(userId, LocalDateTime.now(), start, cursor.getId(), page);
+            default:
+                return bookingRepository.findBookingsForUserAfter(userId, start, cursor.getId(), page);
         }
+    }
 
-        for (Booking booking : bookingsForItem) {
-            LocalDateTime startTime = bookingCreationDto.getStart();
-            LocalDateTime endTime = bookingCreationDto.getEnd();
+    private List<BookingDto> getBookingsForOwner(long ownerId, QueryState queryState, PageRequest page) {
+        switch (queryState) {
+            case WAITING:
+                return bookingRepository.findBookingsByStatusForOwner(ownerId, BookingStatus.WAITING, page);
+            case REJECTED:
+                return bookingRepository.findBookingsByStatusForOwner(ownerId, BookingStatus.REJECTED, page);
+            case FUTURE:
+                return bookingRepository.findFutureBookingsForOwner(ownerId, LocalDateTime.now(), page);
+            case CURRENT:
+                return bookingRepository.findCurrentBookingsForOwner(ownerId, LocalDateTime.now(), page);
+            case PAST:
+                return bookingRepository.findPastBookingsForOwner(ownerId, LocalDateTime.now(), page);
+            default:
+                return bookingRepository.findBookingsForOwner(ownerId, page);
+        }
+    }
 
-            if (startTime.isBefore(booking.getEnd()) && endTime.isAfter(booking.getStart())) {
-                String message = "В указанном временном периоде уже имеется бронирование";
+    private List<BookingDto> getBookingsForOwnerAfter(long ownerId, QueryState queryState, PageCursor cursor,
+                                                      PageRequest page) {
+        LocalDateTime start = cursor.getKeyAsLocalDateTime();
 
-                log.info(message);
+        switch (queryState) {
+            case WAITING:
+                return bookingRepository
+                        .findBookingsByStatusForOwnerAfter(ownerId, BookingStatus.WAITING, start, cursor.getId(), page);
+            case REJECTED:
+                return bookingRepository.findBookingsByStatusForOwnerAfter(ownerId, BookingStatus.REJECTED, start,
+                        cursor.getId(), page);
+            case FUTURE:
+                return bookingRepository
+                        .findFutureBookingsForOwnerAfter(ownerId, LocalDateTime.now(), start, cursor.getId(), page);
+            case CURRENT:
+                return bookingRepository
+                        .findCurrentBookingsForOwnerAfter(ownerId, LocalDateTime.now(), start, cursor.getId(), page);
+            case PAST:
+                return bookingRepository
+                        .findPastBookingsForOwnerAfter(ownerId, LocalDateTime.now(), start, cursor.getId(), page);
+            default:
+                return bookingRepository.findBookingsForOwnerAfter(ownerId, start, cursor.getId(), page);
+        }
+    }
 
-                throw new BadRequestException(message);
-            }
+    private void checkingForNonIntersections(BookingCreationDto bookingCreationDto) {
+        if (bookingRepository.existsByItemIdAndStatusNotAndStartBeforeAndEndAfter(bookingCreationDto.getItemId(),
+                BookingStatus.REJECTED, bookingCreationDto.getEnd(), bookingCreationDto.getStart())) {
+            throw intersectionException();
         }
     }
 
-    private void checkUserExists(long userId) {
-        Optional<User> user = userRepository.findById(userId);
+    private RuntimeException bookingUpdateException(long ownerId, long bookingId) {
+        Booking booking = bookingRepository.findBookingById(bookingId)
+                .orElseThrow(() -> new NotFoundException("Booking с ID: " + bookingId + " не существует"));
 
-        if (user.isEmpty()) {
-            String message = "Пользователя с ID: " + userId + " не существует";
+        if (ownerId != booking.getItem().getOwner().getId()) {
+            String message = "Пользователь с переданным ID: " + ownerId + " не является владельцем вещи с ID: "
+                    + booking.getItem().getId();
 
             log.info(message);
 
-            throw new NotFoundException(message);
+            return new NotFoundException(message);
         }
+
+        String message = "Владелец с ID: " + ownerId + " уже " + (booking.getStatus() == BookingStatus.APPROVED
+                ? "одобрил" : "отклонил") + " бронирование вещи с ID: " + booking.getItem().getId();
+
+        log.info(message);
+
+        return new BadRequestException(message);
+    }
+
+    private boolean isItemPeriodViolation(DataIntegrityViolationException e) {
+        Throwable cause = e.getMostSpecificCause();
+
+        return cause instanceof SQLException
+                && EXCLUSION_VIOLATION.equals(((SQLException) cause).getSQLState())
+                && String.valueOf(cause.getMessage()).contains(ITEM_PERIOD_CONSTRAINT);
+    }
+
+    private BadRequestException intersectionException() {
+        String message = "В указанном временном периоде уже имеется бронирование";
+
+        log.info(message);
+
+        return new BadRequestException(message);
     }
 }
\ No newline at end of file
@@ -4,13 +4,15 @@ import lombok.AllArgsConstructor;
 import lombok.Getter;
 import ru.practicum.shareit.booking.BookingStatus;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.mapping.Default;
 import ru.practicum.shareit.user.dto.UserDto;
 
+import java.time.Instant;
 import java.time.LocalDateTime;
 import java.util.Objects;
 
 @Getter
-@AllArgsConstructor
+@AllArgsConstructor(onConstructor_ = @Default)
 public class BookingDto {
     private Long id;
     private LocalDateTime start;
@@ -20,6 +22,15 @@ public class BookingDto {
     private BookingStatus status;
     private String creationDate;
 
+    public BookingDto(Long id, LocalDateTime start, LocalDateTime end,
+                      Long bookerId, String bookerEmail, String bookerName, Instant bookerRegistrationDate,
+                      Long itemId, String itemName, String itemDescription, Boolean itemAvailable,
+                      Instant itemCreationDate, BookingStatus status, Instant creationDate) {
+        this(id, start, end, new UserDto(bookerId, bookerEmail, bookerName, bookerRegistrationDate),
+                new ItemDto(itemId, itemName, itemDescription, itemAvailable, itemCreationDate), status,
+                (creationDate == null) ? null : creationDate.toString());
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -0,0 +1,24 @@
+package ru.practicum.shareit.booking.dto;
+
+import ru.practicum.shareit.booking.BookingStatus;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+
+public interface BookingForItemView {
+    Long getId();
+
+    Long getItemId();
+
+    Long getBookerId();
+
+    LocalDateTime getStart();
+
+    LocalDateTime getEnd();
+
+    BookingStatus getStatus();
+
+    Instant getCreationDate();
+
+    Boolean getNext();
+}
@@ -45,6 +45,10 @@ public class Booking {
     @Column(name = "creation_date")
     private Instant creationDate = Instant.now();
 
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
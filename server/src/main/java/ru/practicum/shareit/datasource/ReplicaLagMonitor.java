@@ -0,0 +1,52 @@
+package ru.practicum.shareit.datasource;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+
+@Slf4j
+public class ReplicaLagMonitor {
+    private final JdbcTemplate replica;
+    private final ReplicaProperties properties;
+
+    private volatile boolean replicaAvailable;
+
+    public ReplicaLagMonitor(DataSource replicaDataSource, ReplicaProperties properties) {
+        this.replica = new JdbcTemplate(replicaDataSource);
+        this.properties = properties;
+    }
+
+    public boolean isReplicaAvailable() {
+        return replicaAvailable;
+    }
+
+    @Scheduled(fixedDelayString = "${shareit.datasource.replica.lag-check-interval}")
+    public void checkLag() {
+        boolean available;
+
+        try {
+            Double lagSeconds = replica.queryForObject(properties.getLagQuery(), Double.class);
+            long lagMillis = (lagSeconds == null) ? 0 : (long) (lagSeconds * 1000);
+
+            available = lagMillis <= properties.getMaxLag().toMillis();
+
+            if (!available && replicaAvailable) {
+                log.warn("Отставание реплики " + lagMillis + " мс превышает допустимое, чтение переключено на основную БД");
+            }
+        } catch (RuntimeException e) {
+            available = false;
+
+            if (replicaAvailable) {
+                log.warn("Реплика недоступна, чтение переключено на основную БД: " + e.getMessage());
+            }
+        }
+
+        if (available && !replicaAvailable) {
+            log.info("Чтение в транзакциях readOnly направляется на реплику");
+        }
+
+        replicaAvailable = available;
+    }
+}
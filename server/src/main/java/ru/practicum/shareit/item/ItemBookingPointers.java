@@ -0,0 +1,54 @@
+package ru.practicum.shareit.item;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ItemBookingPointers {
+    private final ItemRepository itemRepository;
+
+    public void refresh(long itemId) {
+        refresh(List.of(itemId));
+    }
+
+    public void refreshForBooking(long bookingId) {
+        refresh(itemRepository.findItemIdsByBookingPointer(bookingId));
+    }
+
+    @Scheduled(fixedDelayString = "${shareit.booking-pointers.roll-forward-delay}",
+            initialDelayString = "${shareit.booking-pointers.roll-forward-delay}")
+    public void rollForward() {
+        List<Long> itemIds = itemRepository.findItemIdsWithStartedNextBooking(LocalDateTime.now());
+
+        if (!itemIds.isEmpty()) {
+            log.info("Обновление ссылок на бронирования для " + itemIds.size() + " вещей");
+
+            refresh(itemIds);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void refreshAll() {
+        int updated = itemRepository.refreshAllBookingPointers(LocalDateTime.now());
+
+        log.info("Ссылки на последнее и следующее бронирование пересчитаны для " + updated + " вещей");
+    }
+
+    public void refresh(Collection<Long> itemIds) {
+        if (itemIds.isEmpty()) {
+            return;
+        }
+
+        itemRepository.refreshBookingPointers(LocalDateTime.now(), itemIds);
+    }
+}
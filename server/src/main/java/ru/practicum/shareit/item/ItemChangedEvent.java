@@ -0,0 +1,12 @@
+package ru.practicum.shareit.item;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.Collection;
+
+@Getter
+@RequiredArgsConstructor
+public class ItemChangedEvent {
+    private final Collection<Long> itemIds;
+}
@@ -2,16 +2,23 @@ package ru.practicum.shareit.item;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import ru.practicum.shareit.item.comment.dto.CommentCreationDto;
 import ru.practicum.shareit.item.comment.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemBatchCreationDto;
 import ru.practicum.shareit.item.dto.ItemCreationDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemForItemRequestDto;
 import ru.practicum.shareit.item.dto.ItemWithBookingsDto;
+import ru.practicum.shareit.export.NdjsonWriter;
 import ru.practicum.shareit.responseFormat.ResponseFormat;
 
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
 import java.util.List;
 
 @Slf4j
@@ -20,25 +27,55 @@ import java.util.List;
 @RequiredArgsConstructor
 public class ItemController {
     private final ItemService service;
+    private final ItemEventBroadcaster eventBroadcaster;
 
     @GetMapping
     public ResponseEntity<List<ItemWithBookingsDto>> findItems(
             @RequestHeader(name = "X-Sharer-User-Id", required = false) Long userId,
             @RequestParam(defaultValue = "0") int from,
-            @RequestParam(defaultValue = "10") int size) {
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) String after) {
+        if (after != null) {
+            return service.findItems(userId, after, size).toResponseEntity();
+        }
+
         return ResponseEntity.ok().body(service.findItems(userId, from, size));
     }
 
+    @GetMapping("/export")
+    public void exportItems(@RequestHeader("X-Sharer-User-Id") long userId,
+                            HttpServletResponse response) throws IOException {
+        response.setContentType(NdjsonWriter.MEDIA_TYPE);
+
+        service.exportItems(userId, response.getOutputStream());
+    }
+
+    @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter subscribeToItemEvents() {
+        return eventBroadcaster.subscribe();
+    }
+
     @GetMapping("/{itemId}")
     public ResponseEntity<ItemWithBookingsDto> findItem(@RequestHeader("X-Sharer-User-Id") long userId,
-                                                        @PathVariable long itemId) {
-        return ResponseEntity.ok().body(service.findItem(userId, itemId));
+                                                        @PathVariable long itemId, WebRequest request) {
+        String eTag = service.findItemETag(userId, itemId);
+
+        if (request.checkNotModified(eTag)) {
+            return null;
+        }
+
+        return ResponseEntity.ok().eTag(eTag).body(service.findItem(userId, itemId));
     }
 
     @GetMapping("/search")
     public ResponseEntity<List<ItemDto>> searchItems(@RequestParam(required = false) String text,
                                                      @RequestParam(defaultValue = "0") int from,
-                                                     @RequestParam(defaultValue = "10") int size) {
+                                                     @RequestParam(defaultValue = "10") int size,
+                                                     @RequestParam(required = false) String after) {
+        if (after != null) {
+            return service.searchItems(text, after, size).toResponseEntity();
+        }
+
         return ResponseEntity.ok().body(service.searchItems(text, from, size));
     }
 
@@ -48,6 +85,12 @@ public class ItemController {
         return ResponseEntity.ok().body(service.saveItem(userId, itemCreationDto));
     }
 
+    @PostMapping("/batch")
+    public ResponseEntity<List<ItemForItemRequestDto>> saveItems(@RequestHeader("X-Sharer-User-Id") long userId,
+                                                                 @RequestBody ItemBatchCreationDto itemBatch) {
+        return ResponseEntity.ok().body(service.saveItems(userId, itemBatch.getItems()));
+    }
+
     @PostMapping("/{itemId}/comment")
     public ResponseEntity<CommentDto> postComment(@RequestHeader("X-Sharer-User-Id") long userId,
                                                   @PathVariable long itemId,
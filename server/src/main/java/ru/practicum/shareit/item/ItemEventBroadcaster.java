@@ -0,0 +1,95 @@
+package ru.practicum.shareit.item;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+@Slf4j
+@Component
+@EnableConfigurationProperties(ItemEventsProperties.class)
+public class ItemEventBroadcaster {
+    public static final String ITEM_CHANGED = "item-changed";
+
+    private final Set<SseEmitter> emitters = new CopyOnWriteArraySet<>();
+    private final ExecutorService sender;
+
+    public ItemEventBroadcaster(ItemEventsProperties properties) {
+        this.sender = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(properties.getQueueCapacity()),
+                new CustomizableThreadFactory("item-events-"));
+    }
+
+    public SseEmitter subscribe() {
+        SseEmitter emitter = new SseEmitter(0L);
+
+        emitter.onCompletion(() -> emitters.remove(emitter));
+        emitter.onTimeout(() -> emitters.remove(emitter));
+        emitter.onError(e -> emitters.remove(emitter));
+
+        emitters.add(emitter);
+
+        log.info("Новый подписчик на изменения вещей, всего подписчиков: " + emitters.size());
+
+        return emitter;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onItemChanged(ItemChangedEvent event) {
+        dispatch(SseEmitter.event()
+                .name(ITEM_CHANGED)
+                .data(event.getItemIds()));
+    }
+
+    @Scheduled(fixedDelayString = "${shareit.items.events.heartbeat-interval}")
+    public void sendHeartbeat() {
+        dispatch(SseEmitter.event().comment("heartbeat"));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        sender.shutdownNow();
+    }
+
+    private void dispatch(SseEmitter.SseEventBuilder event) {
+        if (emitters.isEmpty()) {
+            return;
+        }
+
+        try {
+            sender.execute(() -> send(event));
+        } catch (RejectedExecutionException e) {
+            log.warn("Очередь событий об изменении вещей переполнена, отключение " + emitters.size()
+                    + " подписчиков");
+
+            for (SseEmitter emitter : emitters) {
+                emitters.remove(emitter);
+                emitter.complete();
+            }
+        }
+    }
+
+    private void send(SseEmitter.SseEventBuilder event) {
+        for (SseEmitter emitter : emitters) {
+            try {
+                emitter.send(event);
+            } catch (IOException | IllegalStateException e) {
+                emitters.remove(emitter);
+                emitter.completeWithError(e);
+            }
+        }
+    }
+}
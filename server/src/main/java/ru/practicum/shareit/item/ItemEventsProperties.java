@@ -0,0 +1,12 @@
+package ru.practicum.shareit.item;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shareit.items.events")
+public class ItemEventsProperties {
+    private int queueCapacity = 1000;
+}
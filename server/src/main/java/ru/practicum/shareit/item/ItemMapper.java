@@ -3,25 +3,20 @@ package ru.practicum.shareit.item;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 import org.mapstruct.factory.Mappers;
-import ru.practicum.shareit.booking.BookingMapper;
-import ru.practicum.shareit.booking.BookingStatus;
 import ru.practicum.shareit.booking.dto.BookingForItemDto;
-import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.item.dto.ItemCreationDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemForItemRequestDto;
+import ru.practicum.shareit.item.dto.ItemView;
 import ru.practicum.shareit.item.dto.ItemWithBookingsDto;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.user.model.User;
 
-import java.time.LocalDateTime;
 import java.time.ZoneOffset;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
-import java.util.Comparator;
 import java.util.List;
-import java.util.Optional;
 
 @Mapper
 public interface ItemMapper {
@@ -33,37 +28,36 @@ public interface ItemMapper {
 
     List<ItemDto> mapToItemDto(Iterable<Item> items);
 
-    default ItemWithBookingsDto mapToItemWithBookingsDto(Item item, List<Booking> itemBookings) {
+    ItemDto mapToItemDto(ItemView item);
+
+    default ItemWithBookingsDto mapToItemWithBookingsDto(Item item, BookingForItemDto lastBooking,
+                                                         BookingForItemDto nextBooking) {
         String creationDate = DateTimeFormatter
                 .ofPattern("yyyy.MM.dd hh:mm:ss")
                 .withZone(ZoneOffset.UTC)
                 .format(item.getCreationDate());
 
-        Optional<Booking> last = (itemBookings == null) ? Optional.empty() : itemBookings
-                .stream()
-                .filter(b -> b.getStatus().equals(BookingStatus.APPROVED) && b.getStart().isBefore(LocalDateTime.now()))
-                .max(Comparator.comparing(Booking::getStart));
-        Optional<Booking> next = (itemBookings == null) ? Optional.empty() : itemBookings
-                .stream()
-                .filter(b -> b.getStatus().equals(BookingStatus.APPROVED) && b.getStart().isAfter(LocalDateTime.now()))
-                .min(Comparator.comparing(Booking::getStart));
-        BookingForItemDto lastBooking = (last.isEmpty()) ? null : BookingMapper.INSTANCE
-                .mapToBookingForItemDto(last.get());
-        BookingForItemDto nextBooking = (next.isEmpty()) ? null : BookingMapper.INSTANCE
-                .mapToBookingForItemDto(next.get());
-
         return new ItemWithBookingsDto(item.getId(), item.getName(), item.getDescription(), item.getAvailable(),
                 lastBooking, nextBooking, new ArrayList<>(), creationDate);
     }
 
-    @Mapping(source = "item.creationDate", target = "creationDate", dateFormat = "yyyy.MM.dd hh:mm:ss")
-    @Mapping(source = "request.id", target = "requestId")
-    ItemForItemRequestDto mapToItemForItemRequestDto(Item item);
+    default ItemForItemRequestDto mapToItemForItemRequestDto(Item item) {
+        if (item == null) return null;
+
+        Long requestId = (item.getRequest() == null) ? null : item.getRequest().getId();
+
+        return new ItemForItemRequestDto(item.getId(), item.getName(), item.getDescription(), item.getAvailable(),
+                requestId, item.getCreationDate());
+    }
 
     List<ItemForItemRequestDto> mapToItemForItemRequestDto(List<Item> items);
 
     @Mapping(source = "itemDto.id", target = "id")
     @Mapping(source = "itemDto.name", target = "name")
     @Mapping(source = "itemDto.description", target = "description")
+    @Mapping(target = "version", ignore = true)
+    @Mapping(target = "revision", ignore = true)
+    @Mapping(target = "lastBookingId", ignore = true)
+    @Mapping(target = "nextBookingId", ignore = true)
     Item mapToNewItem(ItemCreationDto itemDto, User owner, ItemRequest request);
 }
\ No newline at end of file
@@ -1,22 +1,66 @@
 package ru.practicum.shareit.item;
 
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemForItemRequestDto;
+import ru.practicum.shareit.item.dto.ItemView;
 import ru.practicum.shareit.item.model.Item;
 
+import javax.persistence.QueryHint;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface ItemRepository extends JpaRepository<Item, Long> {
+public interface ItemRepository extends JpaRepository<Item, Long>, ItemRepositoryCustom {
 
     List<Item> findItemsByOwnerId(long userId, PageRequest page);
 
-    List<Item> findDistinctItemByNameContainingIgnoreCaseOrDescriptionContainingIgnoreCase(String nameText,
-                                                                                           String descriptionText,
-                                                                                           PageRequest page);
+    List<Item> findItemsByIdGreaterThanOrderByIdAsc(long itemId, PageRequest page);
+
+    List<Item> findItemsByOwnerIdAndIdGreaterThanOrderByIdAsc(long userId, long itemId, PageRequest page);
+
+    @Query(value = "SELECT i.id AS \"id\", i.name AS \"name\", i.description AS \"description\", " +
+            "i.available AS \"available\", i.creation_date AS \"creationDate\" " +
+            "FROM items AS i " +
+            "WHERE i.available = TRUE " +
+            "AND (i.name ILIKE CONCAT('%', ?1, '%') OR i.description ILIKE CONCAT('%', ?1, '%')) " +
+            "ORDER BY i.id", nativeQuery = true)
+    List<ItemView> searchAvailableItems(String text, Pageable page);
+
+    @Query(value = "SELECT i.id AS \"id\", i.name AS \"name\", i.description AS \"description\", " +
+            "i.available AS \"available\", i.creation_date AS \"creationDate\" " +
+            "FROM items AS i " +
+            "WHERE i.available = TRUE " +
+            "AND (i.name ILIKE CONCAT('%', ?1, '%') OR i.description ILIKE CONCAT('%', ?1, '%')) " +
+            "AND i.id > ?2 " +
+            "ORDER BY i.id", nativeQuery = true)
+    List<ItemView> searchAvailableItemsAfter(String text, long itemId, Pageable page);
+
+    @Query("SELECT new ru.practicum.shareit.item.dto.ItemDto(item.id, item.name, item.description, item.available, " +
+            "item.creationDate) " +
+            "FROM Item AS item " +
+            "WHERE item.id IN ?1 " +
+            "ORDER BY item.id")
+    List<ItemDto> findItemDtosByIdIn(List<Long> itemIds);
+
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "500"))
+    @Query("SELECT new ru.practicum.shareit.item.dto.ItemDto(item.id, item.name, item.description, item.available, " +
+            "item.creationDate) " +
+            "FROM Item AS item " +
+            "WHERE item.owner.id = ?1 " +
+            "ORDER BY item.id")
+    Stream<ItemDto> streamItemDtosByOwnerId(long ownerId);
 
     @Query("SELECT item " +
             "FROM Item AS item " +
@@ -25,9 +69,55 @@ public interface ItemRepository extends JpaRepository<Item, Long> {
             "AND item.id = ?2")
     Optional<Item> findItemByOwnerIdAndItemId(long userId, long itemId);
 
-    List<Item> findItemsByRequestId(long requestId);
+    @Query("SELECT new ru.practicum.shareit.item.dto.ItemForItemRequestDto(item.id, item.name, item.description, " +
+            "item.available, item.request.id, item.creationDate) " +
+            "FROM Item AS item " +
+            "WHERE item.request.id = ?1 " +
+            "ORDER BY item.id ASC")
+    List<ItemForItemRequestDto> findItemDtosByRequestId(long requestId);
+
+    @Query("SELECT new ru.practicum.shareit.item.dto.ItemForItemRequestDto(item.id, item.name, item.description, " +
+            "item.available, item.request.id, item.creationDate) " +
+            "FROM Item AS item " +
+            "WHERE item.request.id IN ?1 " +
+            "ORDER BY item.request.id ASC, item.id ASC")
+    List<ItemForItemRequestDto> findItemDtosByRequestIdIn(List<Long> requestIds);
 
-    List<Item> findItemsByRequestIdIn(List<Long> requestIds);
+    @Query("SELECT item " +
+            "FROM Item AS item " +
+            "JOIN FETCH item.owner " +
+            "WHERE item.id = ?1")
+    Optional<Item> findItemById(long itemId);
 
+    @Cacheable(cacheNames = "items", key = "#p0",
+            unless = "!#result || T(ru.practicum.shareit.datasource.ReplicaRoutingDataSource).isReplicaRead()")
+    boolean existsItemById(long itemId);
+
+    @Query("SELECT item.id " +
+            "FROM Item AS item " +
+            "WHERE item.lastBookingId = ?1 OR item.nextBookingId = ?1")
+    List<Long> findItemIdsByBookingPointer(long bookingId);
+
+    @Query("SELECT item.id " +
+            "FROM Item AS item, Booking AS booking " +
+            "WHERE booking.id = item.nextBookingId " +
+            "AND booking.start <= ?1")
+    List<Long> findItemIdsWithStartedNextBooking(LocalDateTime now);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE Item AS item " +
+            "SET item.revision = item.revision + 1 " +
+            "WHERE item.id = ?1")
+    int incrementRevision(long itemId);
+
+    @CacheEvict(cacheNames = "items", key = "#p0", beforeInvocation = true)
     void deleteById(long itemId);
+
+    @Transactional
+    @Modifying
+    @CacheEvict(cacheNames = "items", key = "#p0")
+    @Query("DELETE FROM Item AS item " +
+            "WHERE item.id = ?1 AND item.owner.id = ?2")
+    int deleteItemByIdAndOwnerId(long itemId, long ownerId);
 }
\ No newline at end of file
@@ -0,0 +1,10 @@
+package ru.practicum.shareit.item;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+public interface ItemRepositoryCustom {
+    int refreshBookingPointers(LocalDateTime now, Collection<Long> itemIds);
+
+    int refreshAllBookingPointers(LocalDateTime now);
+}
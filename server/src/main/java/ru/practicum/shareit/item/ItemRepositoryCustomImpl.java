@@ -0,0 +1,50 @@
+package ru.practicum.shareit.item;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+@RequiredArgsConstructor
+public class ItemRepositoryCustomImpl implements ItemRepositoryCustom {
+    private static final String LAST_BOOKING_ID = "(SELECT b.id " +
+            "FROM bookings AS b " +
+            "WHERE b.item_id = items.id AND b.status = 'APPROVED' AND b.start_time < :now " +
+            "ORDER BY b.start_time DESC, b.id DESC " +
+            "LIMIT 1)";
+
+    private static final String NEXT_BOOKING_ID = "(SELECT b.id " +
+            "FROM bookings AS b " +
+            "WHERE b.item_id = items.id AND b.status = 'APPROVED' AND b.start_time > :now " +
+            "ORDER BY b.start_time ASC, b.id ASC " +
+            "LIMIT 1)";
+
+    private static final String UPDATE_BOOKING_POINTERS = "UPDATE items " +
+            "SET last_booking_id = " + LAST_BOOKING_ID + ", " +
+            "next_booking_id = " + NEXT_BOOKING_ID + ", " +
+            "revision = revision + 1 ";
+
+    private final EntityManager entityManager;
+
+    @Transactional
+    @Override
+    public int refreshBookingPointers(LocalDateTime now, Collection<Long> itemIds) {
+        return entityManager.createNativeQuery(UPDATE_BOOKING_POINTERS +
+                        "WHERE id IN (:itemIds)")
+                .setParameter("now", now)
+                .setParameter("itemIds", itemIds)
+                .executeUpdate();
+    }
+
+    @Transactional
+    @Override
+    public int refreshAllBookingPointers(LocalDateTime now) {
+        return entityManager.createNativeQuery(UPDATE_BOOKING_POINTERS +
+                        "WHERE last_booking_id IS NOT NULL OR next_booking_id IS NOT NULL " +
+                        "OR id IN (SELECT ab.item_id FROM bookings AS ab WHERE ab.status = 'APPROVED')")
+                .setParameter("now", now)
+                .executeUpdate();
+    }
+}
@@ -6,19 +6,31 @@ import ru.practicum.shareit.item.dto.ItemCreationDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemForItemRequestDto;
 import ru.practicum.shareit.item.dto.ItemWithBookingsDto;
+import ru.practicum.shareit.pagination.CursorPage;
 import ru.practicum.shareit.responseFormat.ResponseFormat;
 
+import java.io.OutputStream;
 import java.util.List;
 
 public interface ItemService {
     List<ItemWithBookingsDto> findItems(Long userId, int from, int size);
 
+    CursorPage<ItemWithBookingsDto> findItems(Long userId, String after, int size);
+
     ItemWithBookingsDto findItem(long userId, long itemId);
 
+    String findItemETag(long userId, long itemId);
+
+    long exportItems(long userId, OutputStream out);
+
     List<ItemDto> searchItems(String text, int from, int size);
 
+    CursorPage<ItemDto> searchItems(String text, String after, int size);
+
     ItemForItemRequestDto saveItem(long userId, ItemCreationDto itemCreationDto);
 
+    List<ItemForItemRequestDto> saveItems(long userId, List<ItemCreationDto> itemCreationDtos);
+
     CommentDto postComment(long userId, long itemId, CommentCreationDto comment);
 
     ItemDto updateItem(long userId, long itemId, ItemCreationDto itemCreationDto);
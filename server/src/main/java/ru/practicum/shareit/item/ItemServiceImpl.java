@@ -1,15 +1,21 @@
 package ru.practicum.shareit.item;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.BookingMapper;
 import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.dto.BookingForItemDto;
+import ru.practicum.shareit.booking.dto.BookingForItemView;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.exception.BadRequestException;
 import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.export.NdjsonWriter;
 import ru.practicum.shareit.item.comment.CommentMapper;
 import ru.practicum.shareit.item.comment.CommentRepository;
 import ru.practicum.shareit.item.comment.dto.CommentCreationDto;
@@ -20,18 +26,27 @@ import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemForItemRequestDto;
 import ru.practicum.shareit.item.dto.ItemWithBookingsDto;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.search.ItemSearchEngine;
+import ru.practicum.shareit.metrics.MetricsConfig;
+import ru.practicum.shareit.pagination.CursorPage;
+import ru.practicum.shareit.pagination.PageCursor;
 import ru.practicum.shareit.request.ItemRequestRepository;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.responseFormat.ResponseFormat;
 import ru.practicum.shareit.user.UserRepository;
 import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.validation.EntityExistenceValidator;
 
+import java.io.OutputStream;
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Slf4j
 @Service
+@Timed(MetricsConfig.SERVICE_TIMER)
 @RequiredArgsConstructor
 public class ItemServiceImpl implements ItemService {
     private final ItemRepository itemRepository;
@@ -39,6 +54,10 @@ public class ItemServiceImpl implements ItemService {
     private final BookingRepository bookingRepository;
     private final CommentRepository commentRepository;
     private final ItemRequestRepository itemRequestRepository;
+    private final ItemSearchEngine itemSearchEngine;
+    private final ApplicationEventPublisher eventPublisher;
+    private final EntityExistenceValidator existenceValidator;
+    private final NdjsonWriter ndjsonWriter;
 
     @Transactional(readOnly = true)
     @Override
@@ -46,8 +65,6 @@ public class ItemServiceImpl implements ItemService {
         PageRequest page = PageRequest.of(from > 0 ? from / size : 0, size);
 
         List<Item> items;
-        List<Comment> comments;
-        List<Booking> bookings;
 
         if (userId == null) {
             log.info("Запрос списка всех вещей");
@@ -59,25 +76,29 @@ public class ItemServiceImpl implements ItemService {
             items = itemRepository.findItemsByOwnerId(userId, page);
         }
 
-        List<Long> itemIds = items.stream().map(Item::getId).collect(Collectors.toList());
+        return mapToItemsWithBookings(items);
+    }
 
-        comments = (itemIds.isEmpty()) ? new ArrayList<>() : commentRepository.findCommentByItemIdIn(itemIds);
+    @Transactional(readOnly = true)
+    @Override
+    public CursorPage<ItemWithBookingsDto> findItems(Long userId, String after, int size) {
+        PageRequest page = PageRequest.of(0, size);
 
-        bookings = (itemIds.isEmpty()) ? new ArrayList<>() : bookingRepository.findBookingsForItemIn(itemIds);
+        long lastItemId = after.isBlank() ? 0 : PageCursor.decode(after).getId();
 
-        Map<Long, List<CommentDto>> commentsByItemIds = comments.stream()
-                .collect(Collectors.groupingBy((c) -> c.getItem().getId(), Collectors
-                        .mapping(CommentMapper.INSTANCE::mapToCommentDto, Collectors.toList())));
+        List<Item> items;
 
-        Map<Long, List<Booking>> bookingsByItemIds = bookings.stream()
-                .collect(Collectors.groupingBy(((b) -> b.getItem().getId())));
+        if (userId == null) {
+            log.info("Запрос списка всех вещей после вещи с ID: " + lastItemId);
 
-        return items
-                .stream()
-                .map((i) -> ItemMapper.INSTANCE.mapToItemWithBookingsDto(i, bookingsByItemIds.get(i.getId())))
-                .peek(i -> i.setComments(commentsByItemIds.get(i.getId())))
-                .sorted(Comparator.comparing(ItemWithBookingsDto::getId))
-                .collect(Collectors.toList());
+            items = itemRepository.findItemsByIdGreaterThanOrderByIdAsc(lastItemId, page);
+        } else {
+            log.info("Запрос списка всех вещей пользователя с ID: " + userId + " после вещи с ID: " + lastItemId);
+
+            items = itemRepository.findItemsByOwnerIdAndIdGreaterThanOrderByIdAsc(userId, lastItemId, page);
+        }
+
+        return CursorPage.of(items, mapToItemsWithBookings(items), size, i -> PageCursor.encode(i.getId(), i.getId()));
     }
 
     @Transactional(readOnly = true)
@@ -85,36 +106,44 @@ public class ItemServiceImpl implements ItemService {
     public ItemWithBookingsDto findItem(long userId, long itemId) {
         log.info("Запрос вещи с id: " + itemId + " пользователя с ID: " + userId);
 
-        checkUserExists(userId);
-
-        Item item = getItemIfExists(itemId);
+        Item item = getVisibleItem(userId, itemId);
 
-        if (!item.getAvailable() && (item.getOwner().getId() != userId)) {
-            String message = "В данный момент вещь с ID: " + item.getId() + " не доступена";
+        List<CommentDto> comments = commentRepository.findCommentDtosByItemId(itemId);
 
-            log.info(message);
+        ItemWithBookingsDto itemWithBookingsDto = mapToItemView(userId, item);
 
-            throw new NotFoundException(message);
-        }
+        itemWithBookingsDto.setComments(comments);
 
-        List<CommentDto> comments = commentRepository.findCommentByItemId(itemId)
-                .stream().map(CommentMapper.INSTANCE::mapToCommentDto)
-                .collect(Collectors.toList());
+        return itemWithBookingsDto;
+    }
 
-        ItemWithBookingsDto itemWithBookingsDto;
+    @Transactional(readOnly = true)
+    @Override
+    public String findItemETag(long userId, long itemId) {
+        Item item = getVisibleItem(userId, itemId);
 
-        if (item.getOwner().getId() == userId) {
-            List<Booking> bookings = bookingRepository.findBookingsForItem(itemId);
+        String eTag = item.getId() + "-" + item.getVersion() + "-" + item.getRevision();
 
-            itemWithBookingsDto = ItemMapper.INSTANCE.mapToItemWithBookingsDto(item, bookings);
-        } else {
-            itemWithBookingsDto = ItemMapper.INSTANCE
-                    .mapToItemWithBookingsDto(item, new ArrayList<>());
+        if (item.getOwner().getId() != userId) {
+            return eTag;
         }
 
-        itemWithBookingsDto.setComments(comments);
+        ItemWithBookingsDto itemWithBookingsDto = mapToItemView(userId, item);
 
-        return itemWithBookingsDto;
+        return eTag + "-" + getBookingId(itemWithBookingsDto.getLastBooking())
+                + "-" + getBookingId(itemWithBookingsDto.getNextBooking()) + "-owner";
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public long exportItems(long userId, OutputStream out) {
+        log.info("Экспорт вещей пользователя с ID: " + userId);
+
+        existenceValidator.checkUserExists(userId);
+
+        try (Stream<ItemDto> items = itemRepository.streamItemDtosByOwnerId(userId)) {
+            return ndjsonWriter.write(items, out);
+        }
     }
 
     @Transactional(readOnly = true)
@@ -136,14 +165,34 @@ public class ItemServiceImpl implements ItemService {
             return new ArrayList<>();
         }
 
-        List<Item> items =
-                itemRepository
-                        .findDistinctItemByNameContainingIgnoreCaseOrDescriptionContainingIgnoreCase(text, text, page);
+        return itemSearchEngine.search(text, page);
+    }
 
-        return ItemMapper.INSTANCE.mapToItemDto(items)
-                .stream()
-                .filter(ItemDto::getAvailable)
-                .collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    @Override
+    public CursorPage<ItemDto> searchItems(String text, String after, int size) {
+        log.info("Поиск вещей по запросу: " + text + " после курсора: " + after);
+
+        PageRequest page = PageRequest.of(0, size);
+
+        if (text == null) {
+            String message = "Отсутствует параметр запроса";
+
+            log.info(message);
+
+            throw new BadRequestException(message);
+        }
+
+        if (text.isBlank()) {
+            return new CursorPage<>(new ArrayList<>(), null);
+        }
+
+        long lastItemId = after.isBlank() ? 0 : PageCursor.decode(after).getId();
+
+        List<ItemDto> items = itemSearchEngine.searchAfter(text, lastItemId, page);
+
+        return CursorPage.of(items, size,
+                i -> PageCursor.encode(i.getId(), i.getId()));
     }
 
     @Override
@@ -152,28 +201,68 @@ public class ItemServiceImpl implements ItemService {
 
         itemCreationDto.setOwnerId(userId);
 
-        User owner = userRepository.findById(userId).orElseThrow(() -> new NotFoundException("Пользователь с ID: "
+        User owner = userRepository.findUserById(userId).orElseThrow(() -> new NotFoundException("Пользователь с ID: "
                 + userId + " не существует"));
 
         ItemRequest request = (itemCreationDto.getRequestId() == null) ? null : itemRequestRepository
                 .findById(itemCreationDto.getRequestId()).orElse(null);
 
-        Item item = ItemMapper.INSTANCE.mapToNewItem(itemCreationDto, owner, request);
+        Item item = itemRepository.save(ItemMapper.INSTANCE.mapToNewItem(itemCreationDto, owner, request));
+
+        itemSearchEngine.index(item);
+        eventPublisher.publishEvent(new ItemChangedEvent(List.of(item.getId())));
 
-        return ItemMapper.INSTANCE.mapToItemForItemRequestDto(itemRepository.save(item));
+        return ItemMapper.INSTANCE.mapToItemForItemRequestDto(item);
+    }
+
+    @Transactional
+    @Override
+    public List<ItemForItemRequestDto> saveItems(long userId, List<ItemCreationDto> itemCreationDtos) {
+        log.info("Запрос добавления " + itemCreationDtos.size() + " новых вещей от пользователя с id: " + userId);
+
+        User owner = userRepository.findUserById(userId).orElseThrow(() -> new NotFoundException("Пользователь с ID: "
+                + userId + " не существует"));
+
+        Set<Long> requestIds = itemCreationDtos.stream()
+                .map(ItemCreationDto::getRequestId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+
+        Map<Long, ItemRequest> requestsByIds = (requestIds.isEmpty()) ? new HashMap<>() : itemRequestRepository
+                .findAllById(requestIds).stream()
+                .collect(Collectors.toMap(ItemRequest::getId, Function.identity()));
+
+        List<Item> items = new ArrayList<>(itemCreationDtos.size());
+
+        for (ItemCreationDto itemCreationDto : itemCreationDtos) {
+            itemCreationDto.setOwnerId(userId);
+
+            ItemRequest request = (itemCreationDto.getRequestId() == null) ? null : requestsByIds
+                    .get(itemCreationDto.getRequestId());
+
+            items.add(ItemMapper.INSTANCE.mapToNewItem(itemCreationDto, owner, request));
+        }
+
+        List<Item> savedItems = itemRepository.saveAllAndFlush(items);
+
+        savedItems.forEach(itemSearchEngine::index);
+        eventPublisher.publishEvent(new ItemChangedEvent(savedItems.stream()
+                .map(Item::getId)
+                .collect(Collectors.toList())));
+
+        return ItemMapper.INSTANCE.mapToItemForItemRequestDto(savedItems);
     }
 
     @Override
     public CommentDto postComment(long userId, long itemId, CommentCreationDto comment) {
         log.info("Запрос добавления комментария от пользователя с id: " + userId + " для вещи с ID: " + itemId);
 
-        User author = userRepository.findById(userId).orElseThrow(() -> new NotFoundException("Пользователь с ID: "
+        User author = userRepository.findUserById(userId).orElseThrow(() -> new NotFoundException("Пользователь с ID: "
                 + userId + " не существует"));
 
         Item item = getItemIfExists(itemId);
 
-        if (bookingRepository.findBookingsForItem(itemId).stream()
-                .noneMatch(b -> b.getStart().isBefore(LocalDateTime.now()))) {
+        if (!bookingRepository.existsByItemIdAndBookerIdAndStartBefore(itemId, userId, LocalDateTime.now())) {
             String message = "Отсутствует завершенная аренда";
 
             log.info(message);
@@ -181,8 +270,12 @@ public class ItemServiceImpl implements ItemService {
             throw new BadRequestException(message);
         }
 
-        return CommentMapper.INSTANCE
+        CommentDto commentDto = CommentMapper.INSTANCE
                 .mapToCommentDto(commentRepository.save(new Comment(author, item, comment.getText())));
+
+        itemRepository.incrementRevision(itemId);
+
+        return commentDto;
     }
 
     @Override
@@ -200,9 +293,10 @@ public class ItemServiceImpl implements ItemService {
 
         itemCreationDto.setId(itemId);
 
-        checkUserExists(userId);
+        existenceValidator.checkUserExists(userId);
 
-        Item updatableItem = getItemIfExists(itemCreationDto.getId());
+        Item updatableItem = itemRepository.findById(itemId)
+                .orElseThrow(() -> new NotFoundException("Вещь с ID: " + itemId + " не существует"));
 
         if ((itemCreationDto.getName() == null) && (itemCreationDto.getDescription() == null)
                 && (itemCreationDto.getAvailable() == null)) {
@@ -213,6 +307,13 @@ public class ItemServiceImpl implements ItemService {
             throw new BadRequestException(message);
         }
 
+        Long requestId = (updatableItem.getRequest() == null) ? null : updatableItem.getRequest().getId();
+
+        boolean itemDtoChanged = isChanged(updatableItem.getName(), itemCreationDto.getName())
+                || isChanged(updatableItem.getDescription(), itemCreationDto.getDescription())
+                || isChanged(updatableItem.getAvailable(), itemCreationDto.getAvailable())
+                || isChanged(requestId, itemCreationDto.getRequestId());
+
         if (itemCreationDto.getName() != null) {
             updatableItem.setName(itemCreationDto.getName());
         }
@@ -229,54 +330,161 @@ public class ItemServiceImpl implements ItemService {
             updatableItem.setRequest(itemRequestRepository.findById(itemCreationDto.getRequestId()).orElse(null));
         }
 
-        return ItemMapper.INSTANCE.mapToItemDto(itemRepository.save(updatableItem));
+        Item updatedItem = itemRepository.save(updatableItem);
+
+        if (itemDtoChanged) {
+            itemSearchEngine.index(updatedItem);
+            eventPublisher.publishEvent(new ItemChangedEvent(List.of(itemId)));
+        }
+
+        return ItemMapper.INSTANCE.mapToItemDto(updatedItem);
     }
 
     @Override
     public ResponseFormat deleteItem(long userId, long itemId) {
-        checkUserExists(userId);
-        getItemIfExists(itemId);
+        existenceValidator.checkUserExists(userId);
 
-        itemRepository.deleteById(itemId);
+        if (itemRepository.deleteItemByIdAndOwnerId(itemId, userId) == 0) {
+            existenceValidator.checkItemExists(itemId);
 
-        if (itemRepository.findItemByOwnerIdAndItemId(userId, itemId).isEmpty()) {
-            String message = "Вещь с id: " + itemId + " успешно удалена";
+            String message = "Пользователь с ID: " + userId + " не является владельцем вещи с ID: " + itemId;
 
             log.info(message);
 
-            return new ResponseFormat(message, HttpStatus.OK);
-        } else {
-            String message = "Вещь с id: " + itemId + " удалить не удалось";
+            throw new NotFoundException(message);
+        }
 
-            log.warn(message);
+        itemSearchEngine.remove(itemId);
+        eventPublisher.publishEvent(new ItemChangedEvent(List.of(itemId)));
 
-            throw new BadRequestException(message);
+        String message = "Вещь с id: " + itemId + " успешно удалена";
+
+        log.info(message);
+
+        return new ResponseFormat(message, HttpStatus.OK);
+    }
+
+    private List<ItemWithBookingsDto> mapToItemsWithBookings(List<Item> items) {
+        List<CommentDto> comments;
+
+        List<Long> itemIds = items.stream().map(Item::getId).collect(Collectors.toList());
+
+        comments = (itemIds.isEmpty()) ? new ArrayList<>() : commentRepository.findCommentDtosByItemIdIn(itemIds);
+
+        Map<Long, List<CommentDto>> commentsByItemIds = comments.stream()
+                .collect(Collectors.groupingBy(CommentDto::getItemId));
+
+        Map<Long, ItemWithBookingsDto> itemsByIds = mapToItemsWithLastAndNextBookings(items);
+
+        return items
+                .stream()
+                .map((i) -> itemsByIds.get(i.getId()))
+                .peek(i -> i.setComments(commentsByItemIds.get(i.getId())))
+                .sorted(Comparator.comparing(ItemWithBookingsDto::getId))
+                .collect(Collectors.toList());
+    }
+
+    private Map<Long, ItemWithBookingsDto> mapToItemsWithLastAndNextBookings(List<Item> items) {
+        List<Long> bookingIds = new ArrayList<>();
+
+        for (Item item : items) {
+            if (item.getLastBookingId() != null) {
+                bookingIds.add(item.getLastBookingId());
+            }
+
+            if (item.getNextBookingId() != null) {
+                bookingIds.add(item.getNextBookingId());
+            }
         }
+
+        Map<Long, Booking> bookingsByIds = (bookingIds.isEmpty()) ? new HashMap<>() : bookingRepository
+                .findAllById(bookingIds).stream()
+                .collect(Collectors.toMap(Booking::getId, Function.identity()));
+
+        LocalDateTime now = LocalDateTime.now();
+
+        Map<Long, ItemWithBookingsDto> itemsByIds = new HashMap<>();
+        List<Item> staleItems = new ArrayList<>();
+
+        for (Item item : items) {
+            Booking last = (item.getLastBookingId() == null) ? null : bookingsByIds.get(item.getLastBookingId());
+            Booking next = (item.getNextBookingId() == null) ? null : bookingsByIds.get(item.getNextBookingId());
+
+            if ((item.getLastBookingId() != null && last == null)
+                    || (item.getNextBookingId() != null && (next == null || !next.getStart().isAfter(now)))) {
+                staleItems.add(item);
+
+                continue;
+            }
+
+            itemsByIds.put(item.getId(), ItemMapper.INSTANCE.mapToItemWithBookingsDto(item,
+                    BookingMapper.INSTANCE.mapToBookingForItemDto(last),
+                    BookingMapper.INSTANCE.mapToBookingForItemDto(next)));
+        }
+
+        if (!staleItems.isEmpty()) {
+            List<Long> staleItemIds = staleItems.stream().map(Item::getId).collect(Collectors.toList());
+
+            Map<Long, BookingForItemDto> lastBookingsByItemIds = new HashMap<>();
+            Map<Long, BookingForItemDto> nextBookingsByItemIds = new HashMap<>();
+
+            for (BookingForItemView booking : bookingRepository.findLastAndNextBookingsForItemIn(staleItemIds, now)) {
+                (booking.getNext() ? nextBookingsByItemIds : lastBookingsByItemIds)
+                        .put(booking.getItemId(), BookingMapper.INSTANCE.mapToBookingForItemDto(booking));
+            }
+
+            for (Item item : staleItems) {
+                itemsByIds.put(item.getId(), ItemMapper.INSTANCE.mapToItemWithBookingsDto(item,
+                        lastBookingsByItemIds.get(item.getId()), nextBookingsByItemIds.get(item.getId())));
+            }
+        }
+
+        return itemsByIds;
     }
 
-    private Item getItemIfExists(long itemId) {
-        Optional<Item> item = itemRepository.findById(itemId);
+    private ItemWithBookingsDto mapToItemView(long userId, Item item) {
+        if (item.getOwner().getId() == userId) {
+            return mapToItemsWithLastAndNextBookings(List.of(item)).get(item.getId());
+        }
 
-        if (item.isEmpty()) {
-            String message = "Вещь с ID: " + itemId + " не существует";
+        return ItemMapper.INSTANCE.mapToItemWithBookingsDto(item, null, null);
+    }
+
+    private boolean isChanged(Object current, Object update) {
+        return update != null && !update.equals(current);
+    }
+
+    private long getBookingId(BookingForItemDto booking) {
+        return booking == null ? 0 : booking.getId();
+    }
+
+    private Item getVisibleItem(long userId, long itemId) {
+        existenceValidator.checkUserExists(userId);
+
+        Item item = getItemIfExists(itemId);
+
+        if (!item.getAvailable() && (item.getOwner().getId() != userId)) {
+            String message = "В данный момент вещь с ID: " + item.getId() + " не доступена";
 
             log.info(message);
 
             throw new NotFoundException(message);
         }
 
-        return item.get();
+        return item;
     }
 
-    private void checkUserExists(long userId) {
-        Optional<User> user = userRepository.findById(userId);
+    private Item getItemIfExists(long itemId) {
+        Optional<Item> item = itemRepository.findItemById(itemId);
 
-        if (user.isEmpty()) {
-            String message = "Пользователя с ID: " + userId + " не существует";
+        if (item.isEmpty()) {
+            String message = "Вещь с ID: " + itemId + " не существует";
 
             log.info(message);
 
             throw new NotFoundException(message);
         }
+
+        return item.get();
     }
 }
\ No newline at end of file
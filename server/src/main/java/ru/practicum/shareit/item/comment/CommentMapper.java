@@ -13,5 +13,6 @@ public interface CommentMapper {
 
     @Mapping(source = "author.name", target = "authorName")
     @Mapping(source = "creationDate", target = "created")
+    @Mapping(source = "item.id", target = "itemId")
     CommentDto mapToCommentDto(Comment comment);
 }
\ No newline at end of file
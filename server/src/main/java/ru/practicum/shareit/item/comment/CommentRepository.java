@@ -1,7 +1,9 @@
 package ru.practicum.shareit.item.comment;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import ru.practicum.shareit.item.comment.dto.CommentDto;
 import ru.practicum.shareit.item.comment.model.Comment;
 
 import java.util.List;
@@ -9,7 +11,18 @@ import java.util.List;
 @Repository
 public interface CommentRepository extends JpaRepository<Comment, Long> {
 
-    List<Comment> findCommentByItemIdIn(List<Long> itemIds);
+    String COMMENT_DTO = "SELECT new ru.practicum.shareit.item.comment.dto.CommentDto(comment.id, a.name, " +
+            "comment.text, comment.creationDate, comment.item.id) " +
+            "FROM Comment AS comment " +
+            "JOIN comment.author AS a ";
 
-    List<Comment> findCommentByItemId(long itemIds);
-}
\ No newline at end of file
+    @Query(COMMENT_DTO +
+            "WHERE comment.item.id IN ?1 " +
+            "ORDER BY comment.id")
+    List<CommentDto> findCommentDtosByItemIdIn(List<Long> itemIds);
+
+    @Query(COMMENT_DTO +
+            "WHERE comment.item.id = ?1 " +
+            "ORDER BY comment.id")
+    List<CommentDto> findCommentDtosByItemId(long itemId);
+}
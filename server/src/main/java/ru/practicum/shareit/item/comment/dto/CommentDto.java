@@ -1,5 +1,6 @@
 package ru.practicum.shareit.item.comment.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 
@@ -13,6 +14,8 @@ public class CommentDto {
     private String authorName;
     private String text;
     private LocalDateTime created;
+    @JsonIgnore
+    private Long itemId;
 
     @Override
     public boolean equals(Object o) {
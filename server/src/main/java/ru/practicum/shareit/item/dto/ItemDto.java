@@ -2,11 +2,13 @@ package ru.practicum.shareit.item.dto;
 
 import lombok.AllArgsConstructor;
 import lombok.Getter;
+import ru.practicum.shareit.mapping.Default;
 
+import java.time.Instant;
 import java.util.Objects;
 
 @Getter
-@AllArgsConstructor
+@AllArgsConstructor(onConstructor_ = @Default)
 public class ItemDto {
     private Long id;
     private String name;
@@ -14,6 +16,10 @@ public class ItemDto {
     private Boolean available;
     private String creationDate;
 
+    public ItemDto(Long id, String name, String description, Boolean available, Instant creationDate) {
+        this(id, name, description, available, (creationDate == null) ? null : creationDate.toString());
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -3,6 +3,7 @@ package ru.practicum.shareit.item.dto;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 
+import java.time.Instant;
 import java.util.Objects;
 
 @Getter
@@ -15,6 +16,11 @@ public class ItemForItemRequestDto {
     private Long requestId;
     private String creationDate;
 
+    public ItemForItemRequestDto(Long id, String name, String description, Boolean available, Long requestId,
+                                 Instant creationDate) {
+        this(id, name, description, available, requestId, (creationDate == null) ? null : creationDate.toString());
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
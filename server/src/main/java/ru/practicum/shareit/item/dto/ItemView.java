@@ -0,0 +1,15 @@
+package ru.practicum.shareit.item.dto;
+
+import java.time.Instant;
+
+public interface ItemView {
+    Long getId();
+
+    String getName();
+
+    String getDescription();
+
+    Boolean getAvailable();
+
+    Instant getCreationDate();
+}
@@ -20,7 +20,8 @@ import java.util.Objects;
 public class Item {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "items_seq")
+    @SequenceGenerator(name = "items_seq", sequenceName = "items_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY, optional = false)
@@ -43,6 +44,19 @@ public class Item {
     @Column(name = "creation_date")
     private Instant creationDate = Instant.now();
 
+    @Column(name = "last_booking_id", insertable = false, updatable = false)
+    private Long lastBookingId;
+
+    @Column(name = "next_booking_id", insertable = false, updatable = false)
+    private Long nextBookingId;
+
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
+    @Column(name = "revision", insertable = false, updatable = false)
+    private Long revision;
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -0,0 +1,175 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.model.Item;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "shareit.search.engine", havingValue = "in-memory")
+@RequiredArgsConstructor
+public class InMemoryItemSearchEngine implements ItemSearchEngine {
+    private static final int GRAM_LENGTH = 3;
+
+    private final ItemRepository itemRepository;
+
+    private final Map<String, Set<Long>> postings = new ConcurrentHashMap<>();
+    private final Map<Long, IndexedItem> indexedItems = new ConcurrentHashMap<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuildIndex() {
+        postings.clear();
+        indexedItems.clear();
+
+        itemRepository.findAll().forEach(this::index);
+
+        log.info("Построен поисковый индекс для " + indexedItems.size() + " вещей");
+    }
+
+    @Override
+    public List<ItemDto> search(String text, PageRequest page) {
+        List<Long> itemIds = findMatchingItemIds(text)
+                .skip(page.getOffset())
+                .limit(page.getPageSize())
+                .collect(Collectors.toList());
+
+        return loadItems(itemIds);
+    }
+
+    @Override
+    public List<ItemDto> searchAfter(String text, long itemId, PageRequest page) {
+        List<Long> itemIds = findMatchingItemIds(text)
+                .filter(id -> id > itemId)
+                .limit(page.getPageSize())
+                .collect(Collectors.toList());
+
+        return loadItems(itemIds);
+    }
+
+    @Override
+    public void index(Item item) {
+        remove(item.getId());
+
+        IndexedItem indexedItem = new IndexedItem(normalize(item.getName()), normalize(item.getDescription()),
+                Boolean.TRUE.equals(item.getAvailable()));
+
+        indexedItems.put(item.getId(), indexedItem);
+
+        for (String gram : indexedItem.getGrams()) {
+            postings.computeIfAbsent(gram, g -> new ConcurrentSkipListSet<>()).add(item.getId());
+        }
+    }
+
+    @Override
+    public void remove(long itemId) {
+        IndexedItem indexedItem = indexedItems.remove(itemId);
+
+        if (indexedItem == null) {
+            return;
+        }
+
+        for (String gram : indexedItem.getGrams()) {
+            Set<Long> itemIds = postings.get(gram);
+
+            if (itemIds != null) {
+                itemIds.remove(itemId);
+            }
+        }
+    }
+
+    private Stream<Long> findMatchingItemIds(String text) {
+        String query = normalize(text);
+
+        return findCandidates(query).stream()
+                .filter(id -> {
+                    IndexedItem indexedItem = indexedItems.get(id);
+
+                    return indexedItem != null && indexedItem.matches(query);
+                });
+    }
+
+    private Collection<Long> findCandidates(String query) {
+        if (query.length() < GRAM_LENGTH) {
+            return new TreeSet<>(indexedItems.keySet());
+        }
+
+        List<Set<Long>> candidateSets = new ArrayList<>();
+
+        for (String gram : grams(query)) {
+            Set<Long> itemIds = postings.get(gram);
+
+            if (itemIds == null || itemIds.isEmpty()) {
+                return Collections.emptyList();
+            }
+
+            candidateSets.add(itemIds);
+        }
+
+        candidateSets.sort(Comparator.comparingInt(Set::size));
+
+        return candidateSets.get(0).stream()
+                .filter(id -> candidateSets.stream().allMatch(s -> s.contains(id)))
+                .collect(Collectors.toList());
+    }
+
+    private List<ItemDto> loadItems(List<Long> itemIds) {
+        if (itemIds.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        return itemRepository.findItemDtosByIdIn(itemIds);
+    }
+
+    private static String normalize(String text) {
+        return (text == null) ? "" : text.toLowerCase(Locale.ROOT);
+    }
+
+    private static Set<String> grams(String text) {
+        Set<String> grams = new HashSet<>();
+
+        for (int i = 0; i + GRAM_LENGTH <= text.length(); i++) {
+            grams.add(text.substring(i, i + GRAM_LENGTH));
+        }
+
+        return grams;
+    }
+
+    private static class IndexedItem {
+        private final String name;
+        private final String description;
+        private final boolean available;
+
+        IndexedItem(String name, String description, boolean available) {
+            this.name = name;
+            this.description = description;
+            this.available = available;
+        }
+
+        Set<String> getGrams() {
+            Set<String> grams = grams(name);
+
+            grams.addAll(grams(description));
+
+            return grams;
+        }
+
+        boolean matches(String query) {
+            return available && (name.contains(query) || description.contains(query));
+        }
+    }
+}
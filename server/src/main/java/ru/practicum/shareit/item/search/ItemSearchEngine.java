@@ -0,0 +1,19 @@
+package ru.practicum.shareit.item.search;
+
+import org.springframework.data.domain.PageRequest;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.model.Item;
+
+import java.util.List;
+
+public interface ItemSearchEngine {
+    List<ItemDto> search(String text, PageRequest page);
+
+    List<ItemDto> searchAfter(String text, long itemId, PageRequest page);
+
+    default void index(Item item) {
+    }
+
+    default void remove(long itemId) {
+    }
+}
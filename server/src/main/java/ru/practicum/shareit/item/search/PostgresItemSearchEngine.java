@@ -0,0 +1,38 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.ItemMapper;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemView;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Component
+@ConditionalOnProperty(name = "shareit.search.engine", havingValue = "postgres", matchIfMissing = true)
+@RequiredArgsConstructor
+public class PostgresItemSearchEngine implements ItemSearchEngine {
+    private final ItemRepository itemRepository;
+
+    @Override
+    public List<ItemDto> search(String text, PageRequest page) {
+        return mapToItemDtos(itemRepository.searchAvailableItems(escape(text), page));
+    }
+
+    @Override
+    public List<ItemDto> searchAfter(String text, long itemId, PageRequest page) {
+        return mapToItemDtos(itemRepository.searchAvailableItemsAfter(escape(text), itemId, page));
+    }
+
+    private List<ItemDto> mapToItemDtos(List<ItemView> items) {
+        return items.stream().map(ItemMapper.INSTANCE::mapToItemDto).collect(Collectors.toList());
+    }
+
+    private String escape(String text) {
+        return text.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
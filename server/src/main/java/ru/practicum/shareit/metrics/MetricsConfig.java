@@ -0,0 +1,57 @@
+package ru.practicum.shareit.metrics;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import ru.practicum.shareit.booking.QueryState;
+
+import java.util.Arrays;
+
+@Configuration
+public class MetricsConfig {
+    public static final String SERVICE_TIMER = "shareit.service";
+
+    private static final String STATE_PARAMETER = "state";
+    private static final String NO_STATE = "NONE";
+    private static final String UNKNOWN_STATE = "UNKNOWN";
+
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry registry) {
+        return new TimedAspect(registry, MetricsConfig::serviceTags);
+    }
+
+    private static Iterable<Tag> serviceTags(ProceedingJoinPoint joinPoint) {
+        MethodSignature signature = (MethodSignature) joinPoint.getSignature();
+
+        return Tags.of(
+                "class", joinPoint.getTarget().getClass().getSimpleName(),
+                "method", signature.getName(),
+                "state", queryState(signature.getParameterNames(), joinPoint.getArgs())
+        );
+    }
+
+    private static String queryState(String[] parameterNames, Object[] args) {
+        if (parameterNames == null) {
+            return NO_STATE;
+        }
+
+        for (int i = 0; i < parameterNames.length; i++) {
+            if (STATE_PARAMETER.equals(parameterNames[i])) {
+                Object state = args[i];
+
+                return Arrays.stream(QueryState.values())
+                        .map(Enum::name)
+                        .filter(name -> name.equals(state))
+                        .findFirst()
+                        .orElse(UNKNOWN_STATE);
+            }
+        }
+
+        return NO_STATE;
+    }
+}
@@ -0,0 +1,37 @@
+package ru.practicum.shareit.pagination;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+import java.util.function.Function;
+
+@Getter
+@AllArgsConstructor
+public class CursorPage<T> {
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    private final List<T> content;
+    private final String next;
+
+    public static <E, T> CursorPage<T> of(List<E> entities, List<T> content, int size, Function<E, String> cursor) {
+        String next = (entities.size() < size) ? null : cursor.apply(entities.get(entities.size() - 1));
+
+        return new CursorPage<>(content, next);
+    }
+
+    public static <T> CursorPage<T> of(List<T> content, int size, Function<T, String> cursor) {
+        return of(content, content, size, cursor);
+    }
+
+    public ResponseEntity<List<T>> toResponseEntity() {
+        ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.ok();
+
+        if (next != null) {
+            responseBuilder.header(NEXT_CURSOR_HEADER, next);
+        }
+
+        return responseBuilder.body(content);
+    }
+}
@@ -0,0 +1,61 @@
+package ru.practicum.shareit.pagination;
+
+import lombok.Getter;
+import ru.practicum.shareit.exception.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+@Getter
+public class PageCursor {
+    private static final String DELIMITER = ";";
+
+    private final String key;
+    private final long id;
+
+    private PageCursor(String key, long id) {
+        this.key = key;
+        this.id = id;
+    }
+
+    public static String encode(Object key, long id) {
+        String cursor = key + DELIMITER + id;
+
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(cursor.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static PageCursor decode(String token) {
+        try {
+            String cursor = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int delimiterIndex = cursor.lastIndexOf(DELIMITER);
+
+            return new PageCursor(cursor.substring(0, delimiterIndex),
+                    Long.parseLong(cursor.substring(delimiterIndex + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw invalidCursor(token);
+        }
+    }
+
+    public LocalDateTime getKeyAsLocalDateTime() {
+        try {
+            return LocalDateTime.parse(key);
+        } catch (DateTimeParseException e) {
+            throw invalidCursor(key);
+        }
+    }
+
+    public Instant getKeyAsInstant() {
+        try {
+            return Instant.parse(key);
+        } catch (DateTimeParseException e) {
+            throw invalidCursor(key);
+        }
+    }
+
+    private static BadRequestException invalidCursor(String value) {
+        return new BadRequestException("Некорректное значение параметра запроса after: " + value);
+    }
+}
@@ -3,6 +3,7 @@ package ru.practicum.shareit.request;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.responseFormat.ResponseFormat;
@@ -24,14 +25,25 @@ public class ItemRequestController {
     @GetMapping("/all")
     public ResponseEntity<List<ItemRequestDto>> findItemRequests(@RequestHeader("X-Sharer-User-Id") long userId,
                                                                  @RequestParam(defaultValue = "0") int from,
-                                                                 @RequestParam(defaultValue = "10") int size) {
+                                                                 @RequestParam(defaultValue = "10") int size,
+                                                                 @RequestParam(required = false) String after) {
+        if (after != null) {
+            return service.findItemRequests(userId, after, size).toResponseEntity();
+        }
+
         return ResponseEntity.ok().body(service.findItemRequests(userId, from, size));
     }
 
     @GetMapping("/{requestId}")
     public ResponseEntity<ItemRequestDto> findItemRequest(@RequestHeader("X-Sharer-User-Id") long userId,
-                                                          @PathVariable long requestId) {
-        return ResponseEntity.ok().body(service.findItemRequest(userId, requestId));
+                                                          @PathVariable long requestId, WebRequest request) {
+        String eTag = service.findItemRequestETag(userId, requestId);
+
+        if (request.checkNotModified(eTag)) {
+            return null;
+        }
+
+        return ResponseEntity.ok().eTag(eTag).body(service.findItemRequest(userId, requestId));
     }
 
     @PostMapping
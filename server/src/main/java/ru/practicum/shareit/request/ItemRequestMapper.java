@@ -7,11 +7,7 @@ import ru.practicum.shareit.item.dto.ItemForItemRequestDto;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.model.ItemRequest;
 
-import java.util.ArrayList;
-import java.util.Comparator;
 import java.util.List;
-import java.util.Map;
-import java.util.stream.Collectors;
 
 @Mapper
 public interface ItemRequestMapper {
@@ -20,18 +16,4 @@ public interface ItemRequestMapper {
 
     @Mapping(source = "itemRequest.created", target = "created", dateFormat = "yyyy.MM.dd hh:mm:ss")
     ItemRequestDto mapToItemRequestDto(ItemRequest itemRequest, List<ItemForItemRequestDto> items);
-
-    default List<ItemRequestDto> mapToItemRequestDto(Map<ItemRequest, List<ItemForItemRequestDto>> itemRequests) {
-        if (itemRequests == null) return new ArrayList<>();
-
-        List<ItemRequestDto> itemRequestsDtos = new ArrayList<>();
-
-        for (ItemRequest itemRequest : itemRequests.keySet()) {
-            itemRequestsDtos.add(mapToItemRequestDto(itemRequest, itemRequests.get(itemRequest)));
-        }
-
-        return itemRequestsDtos.stream()
-                .sorted(Comparator.comparing(ItemRequestDto::getCreated))
-                .collect(Collectors.toList());
-    }
 }
\ No newline at end of file
@@ -2,15 +2,45 @@ package ru.practicum.shareit.request;
 
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.request.dto.ItemRequestVersionView;
 import ru.practicum.shareit.request.model.ItemRequest;
 
+import java.time.Instant;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface ItemRequestRepository extends JpaRepository<ItemRequest, Long> {
 
-    List<ItemRequest> findItemRequestsByUserId(long userId);
+    List<ItemRequest> findItemRequestsByUserIdOrderByCreatedAscIdAsc(long userId);
 
-    List<ItemRequest> findItemRequestsByUserIdNot(long userId, Pageable page);
+    List<ItemRequest> findItemRequestsByUserIdNotOrderByCreatedAscIdAsc(long userId, Pageable page);
+
+    @Query("SELECT request " +
+            "FROM ItemRequest AS request " +
+            "JOIN request.user AS u " +
+            "WHERE u.id <> ?1 " +
+            "AND (request.created > ?2 OR (request.created = ?2 AND request.id > ?3)) " +
+            "ORDER BY request.created ASC, request.id ASC")
+    List<ItemRequest> findItemRequestsByUserIdNotAfter(long userId, Instant created, long requestId, Pageable page);
+
+    boolean existsItemRequestById(long requestId);
+
+    @Query("SELECT request.version AS version, COUNT(item.id) AS itemCount, " +
+            "COALESCE(SUM(item.version), 0) AS itemVersionSum, COALESCE(MAX(item.id), 0) AS lastItemId " +
+            "FROM ItemRequest AS request " +
+            "LEFT JOIN Item AS item ON item.request.id = request.id " +
+            "WHERE request.id = ?1 " +
+            "GROUP BY request.id, request.version")
+    Optional<ItemRequestVersionView> findItemRequestVersionById(long requestId);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM ItemRequest AS request " +
+            "WHERE request.id = ?1 AND request.user.id = ?2")
+    int deleteItemRequestByIdAndUserId(long requestId, long userId);
 }
\ No newline at end of file
@@ -1,5 +1,6 @@
 package ru.practicum.shareit.request;
 
+import ru.practicum.shareit.pagination.CursorPage;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.responseFormat.ResponseFormat;
@@ -11,8 +12,12 @@ public interface ItemRequestService {
 
     List<ItemRequestDto> findItemRequests(Long userId, Integer from, Integer size);
 
+    CursorPage<ItemRequestDto> findItemRequests(Long userId, String after, Integer size);
+
     ItemRequestDto findItemRequest(Long userId, Long requestId);
 
+    String findItemRequestETag(Long userId, Long requestId);
+
     ItemRequestDto createItemRequest(Long userId, ItemRequest itemRequest);
 
     ResponseFormat deleteItemRequest(Long userId, Long requestId);
@@ -1,5 +1,7 @@
 package ru.practicum.shareit.request;
 
+import com.carrotsearch.hppc.LongObjectHashMap;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.PageRequest;
@@ -7,42 +9,48 @@ import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import ru.practicum.shareit.exception.BadRequestException;
 import ru.practicum.shareit.exception.NotFoundException;
-import ru.practicum.shareit.item.ItemMapper;
 import ru.practicum.shareit.item.ItemRepository;
 import ru.practicum.shareit.item.dto.ItemForItemRequestDto;
+import ru.practicum.shareit.metrics.MetricsConfig;
+import ru.practicum.shareit.pagination.CursorPage;
+import ru.practicum.shareit.pagination.PageCursor;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
+import ru.practicum.shareit.request.dto.ItemRequestVersionView;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.responseFormat.ResponseFormat;
 import ru.practicum.shareit.user.UserRepository;
 import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.validation.EntityExistenceValidator;
 
 import java.util.*;
 import java.util.stream.Collectors;
 
 @Slf4j
 @Service
+@Timed(MetricsConfig.SERVICE_TIMER)
 @RequiredArgsConstructor
 public class ItemRequestServiceImpl implements ItemRequestService {
     private final ItemRequestRepository itemRequestRepository;
     private final ItemRepository itemRepository;
     private final UserRepository userRepository;
+    private final EntityExistenceValidator existenceValidator;
 
     @Override
     public List<ItemRequestDto> findUsersItemRequests(Long userId) {
         log.info("Запрос поиска запросов вещей пользователя с id: " + userId);
 
-        checkUserExists(userId);
+        existenceValidator.checkUserExists(userId);
 
-        List<ItemRequest> requests = itemRequestRepository.findItemRequestsByUserId(userId);
+        List<ItemRequest> requests = itemRequestRepository.findItemRequestsByUserIdOrderByCreatedAscIdAsc(userId);
 
-        return ItemRequestMapper.INSTANCE.mapToItemRequestDto(getMapItemRequestsWithItemDtos(requests));
+        return mapToItemRequestDtosWithItems(requests);
     }
 
     @Override
     public List<ItemRequestDto> findItemRequests(Long userId, Integer from, Integer size) {
         log.info("Запрос поиска запросов вещей");
 
-        checkUserExists(userId);
+        existenceValidator.checkUserExists(userId);
 
         if (from < 0) {
             String message = "Параметр запроса from: " + from + " не может быть меньше 0";
@@ -62,29 +70,70 @@ public class ItemRequestServiceImpl implements ItemRequestService {
 
         PageRequest page = PageRequest.of(from > 0 ? from / size : 0, size);
 
-        List<ItemRequest> requests = itemRequestRepository.findItemRequestsByUserIdNot(userId, page);
+        List<ItemRequest> requests = itemRequestRepository.findItemRequestsByUserIdNotOrderByCreatedAscIdAsc(userId, page);
 
-        return ItemRequestMapper.INSTANCE.mapToItemRequestDto(getMapItemRequestsWithItemDtos(requests));
+        return mapToItemRequestDtosWithItems(requests);
+    }
+
+    @Override
+    public CursorPage<ItemRequestDto> findItemRequests(Long userId, String after, Integer size) {
+        log.info("Запрос поиска запросов вещей после курсора: " + after);
+
+        existenceValidator.checkUserExists(userId);
+
+        if (size <= 0) {
+            String message = "Параметр запроса size: " + size + " должен быть больше 0";
+
+            log.info(message);
+
+            throw new BadRequestException(message);
+        }
+
+        PageRequest page = PageRequest.of(0, size);
+
+        List<ItemRequest> requests;
+
+        if (after.isBlank()) {
+            requests = itemRequestRepository.findItemRequestsByUserIdNotOrderByCreatedAscIdAsc(userId, page);
+        } else {
+            PageCursor cursor = PageCursor.decode(after);
+
+            requests = itemRequestRepository
+                    .findItemRequestsByUserIdNotAfter(userId, cursor.getKeyAsInstant(), cursor.getId(), page);
+        }
+
+        return CursorPage.of(requests, mapToItemRequestDtosWithItems(requests), size,
+                r -> PageCursor.encode(r.getCreated(), r.getId()));
     }
 
     @Override
     public ItemRequestDto findItemRequest(Long userId, Long requestId) {
         log.info("Запрос поиска запроса вещи с id: " + requestId);
 
-        checkUserExists(userId);
+        existenceValidator.checkUserExists(userId);
 
-        List<ItemForItemRequestDto> items = ItemMapper.INSTANCE
-                .mapToItemForItemRequestDto(itemRepository.findItemsByRequestId(requestId));
+        List<ItemForItemRequestDto> items = itemRepository.findItemDtosByRequestId(requestId);
 
         return ItemRequestMapper.INSTANCE
                 .mapToItemRequestDto(getItemRequestIfExists(requestId), items);
     }
 
+    @Override
+    public String findItemRequestETag(Long userId, Long requestId) {
+        existenceValidator.checkUserExists(userId);
+
+        ItemRequestVersionView version = itemRequestRepository.findItemRequestVersionById(requestId)
+                .orElseThrow(() -> new NotFoundException("Запрос с ID: " + requestId + " не существует"));
+
+        return requestId + "-" + version.getVersion() + "-" + version.getItemCount() + "-"
+                + version.getItemVersionSum() + "-" + version.getLastItemId();
+    }
+
     @Override
     public ItemRequestDto createItemRequest(Long userId, ItemRequest itemRequest) {
         log.info("Запрос добавления запроса вещи от пользователя с id: " + userId);
 
-        User user = userRepository.findById(userId)
+        User user = userRepository.findUserById(userId)
                 .orElseThrow(() -> new NotFoundException("Пользователь с ID: " + userId + " не существует"));
 
         itemRequest.setUser(user);
@@ -95,11 +144,13 @@ public class ItemRequestServiceImpl implements ItemRequestService {
 
     @Override
     public ResponseFormat deleteItemRequest(Long userId, Long requestId) {
-        checkUserExists(userId);
+        existenceValidator.checkUserExists(userId);
 
-        ItemRequest request = getItemRequestIfExists(requestId);
+        if (itemRequestRepository.deleteItemRequestByIdAndUserId(requestId, userId) == 0) {
+            if (!itemRequestRepository.existsItemRequestById(requestId)) {
+                throw new NotFoundException("Запрос с ID: " + requestId + " не существует");
+            }
 
-        if (!request.getUser().getId().equals(userId)) {
             String message = "Пользователь с id: " + userId + " не является автором запроса с id: " + requestId;
 
             log.info(message);
@@ -107,40 +158,43 @@ public class ItemRequestServiceImpl implements ItemRequestService {
             throw new BadRequestException(message);
         }
 
-        itemRequestRepository.deleteById(requestId);
-
-        if (itemRequestRepository.findById(requestId).isEmpty()) {
-            String message = "Запрос вещи с id: " + requestId + " успешно удален";
+        String message = "Запрос вещи с id: " + requestId + " успешно удален";
 
-            log.info(message);
-
-            return new ResponseFormat(message, HttpStatus.OK);
-        } else {
-            String message = "Запрос вещи с id: " + requestId + " удалить не удалось";
+        log.info(message);
 
-            log.warn(message);
+        return new ResponseFormat(message, HttpStatus.OK);
+    }
 
-            throw new BadRequestException(message);
+    private List<ItemRequestDto> mapToItemRequestDtosWithItems(List<ItemRequest> requests) {
+        if (requests.isEmpty()) {
+            return new ArrayList<>();
         }
-    }
 
-    private Map<ItemRequest, List<ItemForItemRequestDto>> getMapItemRequestsWithItemDtos(List<ItemRequest> requests) {
         List<Long> requestsIds = requests.stream().map(ItemRequest::getId).collect(Collectors.toList());
 
-        List<ItemForItemRequestDto> items = ItemMapper.INSTANCE
-                .mapToItemForItemRequestDto(itemRepository.findItemsByRequestIdIn(requestsIds));
+        LongObjectHashMap<List<ItemForItemRequestDto>> itemsByRequestIds = new LongObjectHashMap<>(requests.size());
 
-        Map<ItemRequest, List<ItemForItemRequestDto>> requestsWithItems = new HashMap<>();
+        for (ItemForItemRequestDto item : itemRepository.findItemDtosByRequestIdIn(requestsIds)) {
+            List<ItemForItemRequestDto> itemsForRequest = itemsByRequestIds.get(item.getRequestId());
+
+            if (itemsForRequest == null) {
+                itemsForRequest = new ArrayList<>();
+                itemsByRequestIds.put(item.getRequestId(), itemsForRequest);
+            }
+
+            itemsForRequest.add(item);
+        }
+
+        List<ItemRequestDto> requestDtos = new ArrayList<>(requests.size());
 
         for (ItemRequest request : requests) {
-            List<ItemForItemRequestDto> itemsForRequest = items.stream()
-                    .filter(i -> i.getRequestId().equals(request.getId()))
-                    .collect(Collectors.toList());
+            List<ItemForItemRequestDto> itemsForRequest = itemsByRequestIds.get(request.getId());
 
-            requestsWithItems.put(request, itemsForRequest);
+            requestDtos.add(ItemRequestMapper.INSTANCE
+                    .mapToItemRequestDto(request, (itemsForRequest == null) ? new ArrayList<>() : itemsForRequest));
         }
 
-        return requestsWithItems;
+        return requestDtos;
     }
 
     private ItemRequest getItemRequestIfExists(long requestId) {
@@ -156,16 +210,4 @@ public class ItemRequestServiceImpl implements ItemRequestService {
 
         return itemRequest.get();
     }
-
-    private void checkUserExists(long userId) {
-        Optional<User> user = userRepository.findById(userId);
-
-        if (user.isEmpty()) {
-            String message = "Пользователя с ID: " + userId + " не существует";
-
-            log.info(message);
-
-            throw new NotFoundException(message);
-        }
-    }
 }
\ No newline at end of file
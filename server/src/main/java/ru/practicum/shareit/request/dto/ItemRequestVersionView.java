@@ -0,0 +1,11 @@
+package ru.practicum.shareit.request.dto;
+
+public interface ItemRequestVersionView {
+    Long getVersion();
+
+    Long getItemCount();
+
+    Long getItemVersionSum();
+
+    Long getLastItemId();
+}
@@ -32,6 +32,10 @@ public class ItemRequest {
     @Column(name = "created")
     private Instant created = Instant.now();
 
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -0,0 +1,26 @@
+package ru.practicum.shareit.tracing;
+
+import brave.handler.MutableSpan;
+import brave.handler.SpanHandler;
+import brave.propagation.TraceContext;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "shareit.tracing.log-spans", havingValue = "true")
+public class LoggingSpanHandler extends SpanHandler {
+
+    @Override
+    public boolean end(TraceContext context, MutableSpan span, Cause cause) {
+        if (cause == Cause.FINISHED) {
+            log.info("Спан " + span.name() + " (" + span.kind() + ") trace: " + span.traceId()
+                    + " span: " + span.id() + " parent: " + span.parentId()
+                    + " длительность: " + (span.finishTimestamp() - span.startTimestamp()) + " мкс"
+                    + (span.error() != null ? " ошибка: " + span.error().getMessage() : ""));
+        }
+
+        return true;
+    }
+}
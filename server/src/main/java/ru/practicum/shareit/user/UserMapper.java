@@ -19,5 +19,6 @@ public interface UserMapper {
 
     List<UserDto> mapToUserDto(Iterable<User> users);
 
+    @Mapping(target = "version", ignore = true)
     User mapToNewUser(UserCreationDto userDto);
 }
\ No newline at end of file
@@ -1,9 +1,40 @@
 package ru.practicum.shareit.user;
 
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.model.User;
 
+import java.util.List;
+import java.util.Optional;
+
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
+
+    Optional<User> findUserById(long userId);
+
+    @Cacheable(cacheNames = "users", key = "#p0",
+            unless = "!#result || T(ru.practicum.shareit.datasource.ReplicaRoutingDataSource).isReplicaRead()")
+    boolean existsUserById(long userId);
+
+    @Query("SELECT new ru.practicum.shareit.user.dto.UserDto(user.id, user.email, user.name, user.registrationDate) " +
+            "FROM User AS user " +
+            "ORDER BY user.id")
+    List<UserDto> findAllUserDtos();
+
+    @Override
+    @CacheEvict(cacheNames = "users", key = "#p0", beforeInvocation = true)
+    void deleteById(Long userId);
+
+    @Transactional
+    @Modifying
+    @CacheEvict(cacheNames = "users", key = "#p0")
+    @Query("DELETE FROM User AS user " +
+            "WHERE user.id = ?1")
+    int deleteUserById(long userId);
 }
\ No newline at end of file
@@ -1,5 +1,6 @@
 package ru.practicum.shareit.user;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
@@ -8,6 +9,7 @@ import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.exception.AlreadyExistsException;
 import ru.practicum.shareit.exception.BadRequestException;
 import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.metrics.MetricsConfig;
 import ru.practicum.shareit.responseFormat.ResponseFormat;
 import ru.practicum.shareit.user.dto.UserCreationDto;
 import ru.practicum.shareit.user.dto.UserDto;
@@ -18,6 +20,7 @@ import java.util.Optional;
 
 @Slf4j
 @Service
+@Timed(MetricsConfig.SERVICE_TIMER)
 @RequiredArgsConstructor
 public class UserServiceImpl implements UserService {
     private final UserRepository repository;
@@ -27,9 +30,7 @@ public class UserServiceImpl implements UserService {
     public List<UserDto> getAllUsers() {
         log.info("Запрос списка всех пользователей");
 
-        List<User> users = repository.findAll();
-
-        return UserMapper.INSTANCE.mapToUserDto(users);
+        return repository.findAllUserDtos();
     }
 
     @Transactional(readOnly = true)
@@ -56,7 +57,8 @@ public class UserServiceImpl implements UserService {
     public UserDto updateUser(long userId, UserCreationDto userCreationDto) {
         log.info("Запрос обноваления данных пользователя с ID: " + userId);
 
-        User updatableUser = getUserIfExists(userId);
+        User updatableUser = repository.findById(userId)
+                .orElseThrow(() -> new NotFoundException("Пользователя с ID: " + userId + " не существует"));
 
         if ((userCreationDto.getEmail() == null) && (userCreationDto.getName() == null)) {
             String message = "Выполнен запрос с пустыми полями email и name";
@@ -88,27 +90,23 @@ public class UserServiceImpl implements UserService {
 
     @Override
     public ResponseFormat deleteUser(long userId) {
-        getUserIfExists(userId);
-
-        repository.deleteById(userId);
-
-        if (repository.findById(userId).isEmpty()) {
-            String message = "Пользователь с ID: " + userId + " успешно удален";
+        if (repository.deleteUserById(userId) == 0) {
+            String message = "Пользователя с ID: " + userId + " не существует";
 
             log.info(message);
 
-            return new ResponseFormat(message, HttpStatus.OK);
-        } else {
-            String message = "Неизвестная ошибка. Пользователя с ID: " + userId + " удалить не удалось";
+            throw new NotFoundException(message);
+        }
 
-            log.warn(message);
+        String message = "Пользователь с ID: " + userId + " успешно удален";
 
-            throw new BadRequestException(message);
-        }
+        log.info(message);
+
+        return new ResponseFormat(message, HttpStatus.OK);
     }
 
     private User getUserIfExists(long userId) {
-        Optional<User> user = repository.findById(userId);
+        Optional<User> user = repository.findUserById(userId);
 
         if (user.isEmpty()) {
             String message = "Пользователя с ID: " + userId + " не существует";
@@ -2,17 +2,23 @@ package ru.practicum.shareit.user.dto;
 
 import lombok.AllArgsConstructor;
 import lombok.Getter;
+import ru.practicum.shareit.mapping.Default;
 
+import java.time.Instant;
 import java.util.Objects;
 
 @Getter
-@AllArgsConstructor
+@AllArgsConstructor(onConstructor_ = @Default)
 public class UserDto {
     private Long id;
     private String email;
     private String name;
     private String registrationDate;
 
+    public UserDto(Long id, String email, String name, Instant registrationDate) {
+        this(id, email, name, (registrationDate == null) ? null : registrationDate.toString());
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -30,6 +30,10 @@ public class User {
     @Column(name = "registration_date")
     private Instant registrationDate = Instant.now();
 
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -0,0 +1,36 @@
+package ru.practicum.shareit.validation;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.user.UserRepository;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class EntityExistenceValidator {
+    private final UserRepository userRepository;
+    private final ItemRepository itemRepository;
+
+    public void checkUserExists(long userId) {
+        if (!userRepository.existsUserById(userId)) {
+            String message = "Пользователя с ID: " + userId + " не существует";
+
+            log.info(message);
+
+            throw new NotFoundException(message);
+        }
+    }
+
+    public void checkItemExists(long itemId) {
+        if (!itemRepository.existsItemById(itemId)) {
+            String message = "Вещь с ID: " + itemId + " не существует";
+
+            log.info(message);
+
+            throw new NotFoundException(message);
+        }
+    }
+}
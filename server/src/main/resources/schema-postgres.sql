@@ -0,0 +1,32 @@
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX IF NOT EXISTS idx_items_name_trgm ON items USING GIN (name gin_trgm_ops) WHERE available;
+
+CREATE INDEX IF NOT EXISTS idx_items_description_trgm ON items USING GIN (description gin_trgm_ops) WHERE available;
+
+
+CREATE EXTENSION IF NOT EXISTS btree_gist;
+
+DO 'BEGIN
+  IF EXISTS (SELECT 1 FROM pg_constraint WHERE conname = ''ex_bookings_item_period''
+             AND pg_get_constraintdef(oid) NOT LIKE ''%REJECTED%'') THEN
+    ALTER TABLE bookings DROP CONSTRAINT ex_bookings_item_period;
+  END IF;
+  IF NOT EXISTS (SELECT 1 FROM pg_constraint WHERE conname = ''ex_bookings_item_period'') THEN
+    UPDATE bookings b SET status = ''REJECTED''
+    WHERE b.status = ''WAITING'' AND EXISTS (SELECT 1 FROM bookings a WHERE a.item_id = b.item_id AND a.id <> b.id
+          AND (a.status = ''APPROVED'' OR a.status = ''WAITING'' AND a.id < b.id)
+          AND tsrange(a.start_time, a.end_time) && tsrange(b.start_time, b.end_time));
+    IF EXISTS (SELECT 1 FROM bookings a JOIN bookings b ON a.item_id = b.item_id AND a.id < b.id
+               WHERE a.status <> ''REJECTED'' AND b.status <> ''REJECTED''
+               AND tsrange(a.start_time, a.end_time) && tsrange(b.start_time, b.end_time)) THEN
+      RAISE WARNING ''Ограничение ex_bookings_item_period не создано: в таблице bookings есть пересекающиеся бронирования'';
+    ELSE
+      ALTER TABLE bookings ADD CONSTRAINT ex_bookings_item_period
+        EXCLUDE USING GIST (item_id WITH =, tsrange(start_time, end_time) WITH &&) WHERE (status <> ''REJECTED'');
+    END IF;
+  END IF;
+END';
+
+SELECT setval('items_seq', (SELECT MAX(id) FROM items) + 50)
+WHERE (SELECT MAX(id) FROM items) >= (SELECT last_value FROM items_seq);
@@ -20,6 +20,8 @@ CREATE TABLE IF NOT EXISTS items (
   UNIQUE(id)
 );
 
+CREATE SEQUENCE IF NOT EXISTS items_seq START WITH 1 INCREMENT BY 50;
+
 CREATE TABLE IF NOT EXISTS bookings (
   id BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
   start_time TIMESTAMP NOT NULL,
@@ -53,4 +55,28 @@ CREATE TABLE IF NOT EXISTS item_requests (
   created TIMESTAMP NOT NULL,
   CONSTRAINT pk_item_request PRIMARY KEY (id),
   UNIQUE(id)
-);
\ No newline at end of file
+);
+
+ALTER TABLE items ADD COLUMN IF NOT EXISTS last_booking_id BIGINT;
+
+ALTER TABLE items ADD COLUMN IF NOT EXISTS next_booking_id BIGINT;
+
+ALTER TABLE users ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+
+ALTER TABLE items ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+
+ALTER TABLE items ADD COLUMN IF NOT EXISTS revision BIGINT NOT NULL DEFAULT 0;
+
+ALTER TABLE bookings ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+
+ALTER TABLE item_requests ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+
+CREATE INDEX IF NOT EXISTS idx_bookings_booker_start ON bookings (booker_id, start_time DESC);
+
+CREATE INDEX IF NOT EXISTS idx_bookings_item_start ON bookings (item_id, start_time DESC);
+
+CREATE INDEX IF NOT EXISTS idx_items_request ON items (item_request_id, id);
+
+CREATE INDEX IF NOT EXISTS idx_items_last_booking ON items (last_booking_id);
+
+CREATE INDEX IF NOT EXISTS idx_items_next_booking ON items (next_booking_id);
@@ -0,0 +1,237 @@
+package ru.practicum.shareit;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.item.ItemBookingPointers;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.comment.CommentRepository;
+import ru.practicum.shareit.item.comment.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.ItemRequestRepository;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.model.User;
+
+import javax.persistence.EntityManagerFactory;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+
+@SpringBootTest(properties = "shareit.booking-pointers.roll-forward-delay=PT1H")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ListingQueryCountTest {
+    private static final int EXTRA_USERS = 10;
+
+    @Autowired
+    private MockMvc mvc;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private CacheManager cacheManager;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private CommentRepository commentRepository;
+    @Autowired
+    private ItemRequestRepository itemRequestRepository;
+    @Autowired
+    private ItemBookingPointers itemBookingPointers;
+
+    private Statistics statistics;
+    private Dataset small;
+    private Dataset large;
+
+    @BeforeAll
+    void createData() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        small = createDataset("small", 1, 2, 2, 1);
+        large = createDataset("large", 3, 10, 8, 5);
+
+        itemBookingPointers.refreshAll();
+    }
+
+    @Test
+    void findBookingsForUserDoesNotDependOnDataSize() throws Exception {
+        assertStatements(2, data -> MockMvcRequestBuilders.get("/bookings")
+                .header("X-Sharer-User-Id", data.booker.getId())
+                .param("size", "20"));
+    }
+
+    @Test
+    void findBookingsForOwnerDoesNotDependOnDataSize() throws Exception {
+        assertStatements(2, data -> MockMvcRequestBuilders.get("/bookings/owner")
+                .header("X-Sharer-User-Id", data.owner.getId())
+                .param("size", "20"));
+    }
+
+    @Test
+    void findBookingDoesNotDependOnDataSize() throws Exception {
+        assertStatements(3, data -> MockMvcRequestBuilders.get("/bookings/" + data.booking.getId())
+                .header("X-Sharer-User-Id", data.booker.getId()));
+    }
+
+    @Test
+    void findItemsForOwnerDoesNotDependOnDataSize() throws Exception {
+        assertStatements(3, data -> MockMvcRequestBuilders.get("/items")
+                .header("X-Sharer-User-Id", data.owner.getId())
+                .param("size", "20"));
+    }
+
+    @Test
+    void findItemDoesNotDependOnDataSize() throws Exception {
+        assertStatements(6, data -> MockMvcRequestBuilders.get("/items/" + data.item.getId())
+                .header("X-Sharer-User-Id", data.owner.getId()));
+    }
+
+    @Test
+    void findItemRequestsDoesNotDependOnDataSize() throws Exception {
+        assertStatements(3, data -> MockMvcRequestBuilders.get("/requests")
+                .header("X-Sharer-User-Id", data.booker.getId()));
+    }
+
+    @Test
+    void findItemRequestDoesNotDependOnDataSize() throws Exception {
+        assertStatements(4, data -> MockMvcRequestBuilders.get("/requests/" + data.request.getId())
+                .header("X-Sharer-User-Id", data.booker.getId()));
+    }
+
+    @Test
+    void findUsersDoesNotDependOnDataSize() throws Exception {
+        long before = countStatements(MockMvcRequestBuilders.get("/users"));
+
+        List<User> users = new ArrayList<>();
+
+        for (int i = 0; i < EXTRA_USERS; i++) {
+            users.add(user("extra" + i));
+        }
+
+        users = userRepository.saveAll(users);
+
+        long after = countStatements(MockMvcRequestBuilders.get("/users"));
+
+        userRepository.deleteAll(users);
+
+        Assertions.assertEquals(1, before);
+        Assertions.assertEquals(before, after);
+    }
+
+    private void assertStatements(long expected, Function<Dataset, MockHttpServletRequestBuilder> request)
+            throws Exception {
+        long smallCount = countStatements(request.apply(small));
+        long largeCount = countStatements(request.apply(large));
+
+        Assertions.assertEquals(expected, smallCount);
+        Assertions.assertEquals(smallCount, largeCount);
+    }
+
+    private long countStatements(MockHttpServletRequestBuilder request) throws Exception {
+        cacheManager.getCacheNames()
+                .forEach(name -> Objects.requireNonNull(cacheManager.getCache(name)).clear());
+        statistics.clear();
+
+        mvc.perform(request).andExpect(MockMvcResultMatchers.status().isOk());
+
+        return statistics.getPrepareStatementCount();
+    }
+
+    private Dataset createDataset(String name, int requests, int items, int bookingsPerItem, int commentsPerItem) {
+        Dataset data = new Dataset();
+
+        data.owner = userRepository.save(user(name + "-owner"));
+        data.booker = userRepository.save(user(name + "-booker"));
+
+        List<ItemRequest> itemRequests = new ArrayList<>();
+
+        for (int i = 0; i < requests; i++) {
+            ItemRequest newRequest = new ItemRequest();
+            newRequest.setUser(data.booker);
+            newRequest.setDescription("Нужна дрель " + i);
+            itemRequests.add(newRequest);
+        }
+
+        itemRequests = itemRequestRepository.saveAll(itemRequests);
+        data.request = itemRequests.get(0);
+
+        List<Item> newItems = new ArrayList<>();
+
+        for (int i = 0; i < items; i++) {
+            Item newItem = new Item();
+            newItem.setOwner(data.owner);
+            newItem.setName("Дрель " + i);
+            newItem.setDescription("Аккумуляторная дрель " + i);
+            newItem.setAvailable(true);
+            newItem.setRequest(itemRequests.get(i % requests));
+            newItems.add(newItem);
+        }
+
+        newItems = itemRepository.saveAll(newItems);
+        data.item = newItems.get(0);
+
+        List<Booking> bookings = new ArrayList<>();
+        List<Comment> comments = new ArrayList<>();
+        LocalDateTime now = LocalDateTime.now();
+
+        for (Item bookedItem : newItems) {
+            for (int i = 0; i < bookingsPerItem; i++) {
+                LocalDateTime start = now.plusDays(2L * i - bookingsPerItem + 1);
+
+                Booking newBooking = new Booking();
+                newBooking.setItem(bookedItem);
+                newBooking.setBooker(data.booker);
+                newBooking.setStart(start);
+                newBooking.setEnd(start.plusDays(1));
+                newBooking.setStatus(BookingStatus.APPROVED);
+                bookings.add(newBooking);
+            }
+
+            for (int i = 0; i < commentsPerItem; i++) {
+                comments.add(new Comment(data.booker, bookedItem, "Отличная дрель " + i));
+            }
+        }
+
+        data.booking = bookingRepository.saveAll(bookings).get(0);
+        commentRepository.saveAll(comments);
+
+        return data;
+    }
+
+    private static User user(String name) {
+        User user = new User();
+        user.setName(name);
+        user.setEmail(name + "@shareit.ru");
+        return user;
+    }
+
+    private static class Dataset {
+        private User owner;
+        private User booker;
+        private Item item;
+        private Booking booking;
+        private ItemRequest request;
+    }
+}